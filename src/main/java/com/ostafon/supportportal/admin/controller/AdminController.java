@@ -1,10 +1,13 @@
 package com.ostafon.supportportal.admin.controller;
 
+import com.ostafon.supportportal.admin.dto.ActivityPageResponse;
 import com.ostafon.supportportal.admin.dto.DashboardStatsResponse;
 import com.ostafon.supportportal.admin.dto.EngineerPerformanceResponse;
+import com.ostafon.supportportal.admin.service.ActivityFeedService;
 import com.ostafon.supportportal.admin.service.AdminService;
 import com.ostafon.supportportal.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ActivityFeedService activityFeedService;
 
     /**
      * Get comprehensive dashboard statistics
@@ -37,7 +41,8 @@ public class AdminController {
     @GetMapping("/dashboard/stats")
     @Operation(
             summary = "Get dashboard statistics",
-            description = "Retrieve comprehensive dashboard statistics including users, tickets, and performance metrics. Admin only."
+            description = "Retrieve comprehensive dashboard statistics including users, tickets, and performance metrics. " +
+                         "Served from a snapshot refreshed every few seconds; changes are pushed to /topic/admin/dashboard. Admin only."
     )
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats() {
         log.info("REST: Get dashboard statistics");
@@ -71,7 +76,7 @@ public class AdminController {
     @GetMapping("/system/health")
     @Operation(
             summary = "Get system health",
-            description = "Check overall system health and get warnings about potential issues. Admin only."
+            description = "Check overall system health, per-probe details (DB pool, SMTP, broker, JVM, workload) and warnings. Admin only."
     )
     public ResponseEntity<ApiResponse<AdminService.SystemHealthResponse>> getSystemHealth() {
         log.info("REST: Get system health check");
@@ -80,5 +85,26 @@ public class AdminController {
 
         return ResponseEntity.ok(ApiResponse.success(health));
     }
-}
 
+    /**
+     * Get system activity feed
+     * Newest first, paged with an id cursor
+     */
+    @GetMapping("/activity")
+    @Operation(
+            summary = "Get system activity",
+            description = "Recent registrations, ticket and chat events, newest first. Pass nextCursor as 'before' for older entries. " +
+                         "New entries are pushed to /topic/admin/activity. Admin only."
+    )
+    public ResponseEntity<ApiResponse<ActivityPageResponse>> getActivity(
+            @Parameter(description = "Return entries older than this id")
+            @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size (max 200)")
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("REST: Get system activity before {}", before);
+
+        ActivityPageResponse page = activityFeedService.getActivity(before, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+}
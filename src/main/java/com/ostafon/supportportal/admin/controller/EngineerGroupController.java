@@ -2,6 +2,8 @@ package com.ostafon.supportportal.admin.controller;
 
 import com.ostafon.supportportal.admin.dto.CreateEngineerGroupRequest;
 import com.ostafon.supportportal.admin.dto.EngineerGroupResponse;
+import com.ostafon.supportportal.admin.dto.GroupBacklogResponse;
+import com.ostafon.supportportal.admin.dto.GroupQueueResponse;
 import com.ostafon.supportportal.admin.service.EngineerGroupService;
 import com.ostafon.supportportal.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -68,6 +70,18 @@ public class EngineerGroupController {
         return ResponseEntity.ok(ApiResponse.success(groups));
     }
 
+    /**
+     * Get backlog gauges of all groups
+     */
+    @GetMapping("/backlog")
+    @Operation(
+            summary = "Get backlog of all groups",
+            description = "Live open/unassigned/oldest/SLA gauges for every group with open tickets. Served from memory. Admin only."
+    )
+    public ResponseEntity<ApiResponse<List<GroupBacklogResponse>>> getAllBacklogs() {
+        return ResponseEntity.ok(ApiResponse.success(groupService.getAllBacklogs()));
+    }
+
     /**
      * Get group by ID
      */
@@ -160,5 +174,36 @@ public class EngineerGroupController {
 
         return ResponseEntity.ok(ApiResponse.success("Engineer group deleted successfully", null));
     }
-}
 
+    /**
+     * Get group work queue
+     */
+    @GetMapping("/{groupId}/queue")
+    @Operation(
+            summary = "Get group queue",
+            description = "Open tickets of the group, most urgent first (priority, due date, age), with live backlog gauges. Admin only."
+    )
+    public ResponseEntity<ApiResponse<GroupQueueResponse>> getGroupQueue(
+            @PathVariable @Parameter(description = "Group ID") Long groupId,
+            @RequestParam(defaultValue = "50") @Parameter(description = "Max tickets (1-200)") int limit) {
+
+        log.info("REST: Get queue of group {}", groupId);
+
+        GroupQueueResponse queue = groupService.getGroupQueue(groupId, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(queue));
+    }
+
+    /**
+     * Get group backlog gauges
+     */
+    @GetMapping("/{groupId}/backlog")
+    @Operation(
+            summary = "Get group backlog",
+            description = "Live open/unassigned/oldest/SLA gauges of the group. Served from memory, safe to poll frequently. Admin only."
+    )
+    public ResponseEntity<ApiResponse<GroupBacklogResponse>> getGroupBacklog(
+            @PathVariable @Parameter(description = "Group ID") Long groupId) {
+        return ResponseEntity.ok(ApiResponse.success(groupService.getGroupBacklog(groupId)));
+    }
+}
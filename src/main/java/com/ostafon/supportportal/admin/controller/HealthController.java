@@ -0,0 +1,53 @@
+package com.ostafon.supportportal.admin.controller;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.admin.service.HealthService;
+import com.ostafon.supportportal.common.dto.ApiResponse;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public health endpoint for load balancers
+ * Only exposes statuses; details stay behind the admin endpoint
+ */
+@RestController
+@RequestMapping("/health")
+@RequiredArgsConstructor
+@Tag(name = "Health", description = "Liveness and dependency status")
+public class HealthController {
+
+    private final HealthService healthService;
+
+    /**
+     * Get cached health status
+     * Returns 503 when any probe is DOWN
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get health status",
+            description = "Overall and per-probe status from cached background checks. Cheap enough to poll every second. Public."
+    )
+    public ResponseEntity<ApiResponse<Map<String, HealthStatus>>> getHealth() {
+        List<HealthProbeResponse> results = healthService.getResults();
+        HealthStatus overall = healthService.overallStatus(results);
+
+        Map<String, HealthStatus> statuses = new LinkedHashMap<>();
+        for (HealthProbeResponse result : results) {
+            statuses.put(result.getName(), result.getStatus());
+        }
+
+        HttpStatus httpStatus = overall == HealthStatus.DOWN ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK;
+        return ResponseEntity.status(httpStatus).body(ApiResponse.success(overall.name(), statuses));
+    }
+}
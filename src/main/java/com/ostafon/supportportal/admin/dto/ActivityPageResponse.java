@@ -0,0 +1,23 @@
+package com.ostafon.supportportal.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page of system activity, newest first
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityPageResponse {
+
+    @JsonProperty("items")
+    private List<SystemActivityResponse> items;
+
+    @JsonProperty("nextCursor")
+    private Long nextCursor; // pass as 'before' to get older entries; null on last page
+}
@@ -88,5 +88,8 @@ public class DashboardStatsResponse {
 
     @JsonProperty("averageTicketsPerEngineer")
     private Double averageTicketsPerEngineer;
+
+    @JsonProperty("generatedAt")
+    private String generatedAt; // time the snapshot was computed
 }
 
@@ -0,0 +1,38 @@
+package com.ostafon.supportportal.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Live backlog gauges of an engineer group
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupBacklogResponse {
+
+    @JsonProperty("groupId")
+    private Long groupId;
+
+    @JsonProperty("openTickets")
+    private long openTickets;
+
+    @JsonProperty("unassignedTickets")
+    private long unassignedTickets;
+
+    @JsonProperty("oldestOpenAt")
+    private LocalDateTime oldestOpenAt;
+
+    @JsonProperty("oldestAgeMinutes")
+    private Long oldestAgeMinutes;
+
+    @JsonProperty("slaAtRisk")
+    private long slaAtRisk; // due within the risk window
+
+    @JsonProperty("overdue")
+    private long overdue; // past due date
+}
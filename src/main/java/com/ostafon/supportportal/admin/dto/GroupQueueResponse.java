@@ -0,0 +1,30 @@
+package com.ostafon.supportportal.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ostafon.supportportal.tickets.dto.response.TicketResponse;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Work queue of an engineer group
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupQueueResponse {
+
+    @JsonProperty("groupId")
+    private Long groupId;
+
+    @JsonProperty("groupName")
+    private String groupName;
+
+    @JsonProperty("backlog")
+    private GroupBacklogResponse backlog;
+
+    @JsonProperty("tickets")
+    private List<TicketResponse> tickets; // most urgent first
+}
@@ -0,0 +1,35 @@
+package com.ostafon.supportportal.admin.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a single health probe
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HealthProbeResponse {
+
+    @JsonProperty("name")
+    private String name; // database, smtp, broker, jvm, business
+
+    @JsonProperty("status")
+    private HealthStatus status;
+
+    @JsonProperty("warnings")
+    private List<String> warnings;
+
+    @JsonProperty("details")
+    private Map<String, Object> details;
+
+    @JsonProperty("checkedAt")
+    private LocalDateTime checkedAt;
+}
@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
 @Builder
 public class SystemActivityResponse {
 
+    @JsonProperty("id")
+    private Long id; // increasing, used as paging cursor
+
     @JsonProperty("timestamp")
     private LocalDateTime timestamp;
 
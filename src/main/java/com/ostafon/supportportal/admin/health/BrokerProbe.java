@@ -0,0 +1,106 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.chat.websoket.SlowConsumerGuard;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * STOMP broker sessions, channel executor backlog and slow consumers
+ */
+@Component
+public class BrokerProbe implements HealthProbe {
+
+    private final WebSocketMessageBrokerStats brokerStats;
+    private final SimpUserRegistry userRegistry;
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final int queueWarning;
+
+    private long lastDroppedFrames;
+
+    public BrokerProbe(WebSocketMessageBrokerStats brokerStats,
+                       SimpUserRegistry userRegistry,
+                       @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+                       @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+                       SlowConsumerGuard slowConsumerGuard,
+                       @Value("${health.broker.queue-warning:500}") int queueWarning) {
+        this.brokerStats = brokerStats;
+        this.userRegistry = userRegistry;
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        this.slowConsumerGuard = slowConsumerGuard;
+        this.queueWarning = queueWarning;
+    }
+
+    @Override
+    public String name() {
+        return "broker";
+    }
+
+    @Override
+    public Duration ttl() {
+        return Duration.ofSeconds(5);
+    }
+
+    @Override
+    public synchronized HealthProbeResponse check() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("connectedUsers", userRegistry.getUserCount());
+        details.put("sessions", brokerStats.getWebSocketSessionStatsInfo());
+        details.put("stomp", brokerStats.getStompSubProtocolStatsInfo());
+
+        List<String> warnings = new ArrayList<>();
+        describe("inbound", inboundExecutor, details, warnings);
+        describe("outbound", outboundExecutor, details, warnings);
+
+        long dropped = slowConsumerGuard.getDroppedFrames();
+        long droppedSinceLastCheck = dropped - lastDroppedFrames;
+        lastDroppedFrames = dropped;
+        int slowSessions = slowConsumerGuard.getSlowSessions();
+
+        details.put("droppedFrames", dropped);
+        details.put("terminatedSessions", slowConsumerGuard.getTerminatedSessions());
+        details.put("slowSessions", slowSessions);
+        details.put("maxSessionBacklog", slowConsumerGuard.getMaxSessionBacklog());
+        if (droppedSinceLastCheck > 0) {
+            warnings.add(droppedSinceLastCheck + " frames dropped for slow WebSocket clients");
+        }
+        if (slowSessions > 0) {
+            warnings.add(slowSessions + " WebSocket sessions are falling behind");
+        }
+
+        return HealthProbeResponse.builder()
+                .name(name())
+                .status(warnings.isEmpty() ? HealthStatus.UP : HealthStatus.WARN)
+                .warnings(warnings)
+                .details(details)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void describe(String channel, ThreadPoolTaskExecutor executor,
+                          Map<String, Object> details, List<String> warnings) {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        int queued = pool.getQueue().size();
+        details.put(channel + "Active", pool.getActiveCount());
+        details.put(channel + "Queued", queued);
+        if (queued > queueWarning) {
+            warnings.add("STOMP " + channel + " channel backlog: " + queued + " messages");
+        }
+    }
+}
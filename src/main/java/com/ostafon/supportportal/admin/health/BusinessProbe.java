@@ -0,0 +1,76 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.DashboardStatsResponse;
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.admin.service.DashboardSnapshotService;
+import com.ostafon.supportportal.analytics.service.ResolutionTimeCounter;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Support workload warnings
+ * Reads the dashboard snapshot and running counters only, never the database
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessProbe implements HealthProbe {
+
+    private static final double TICKET_LOAD_WARNING = 10;
+    private static final double RESOLUTION_HOURS_WARNING = 48; // 2 days
+
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final ResolutionTimeCounter resolutionTimeCounter;
+
+    @Override
+    public String name() {
+        return "business";
+    }
+
+    @Override
+    public Duration ttl() {
+        return Duration.ofSeconds(5);
+    }
+
+    @Override
+    public HealthProbeResponse check() {
+        DashboardStatsResponse stats = dashboardSnapshotService.getSnapshot();
+        double avgResolution = resolutionTimeCounter.averageHours();
+
+        List<String> warnings = new ArrayList<>();
+        if (stats.getUnassignedTickets() > 0) {
+            warnings.add("There are " + stats.getUnassignedTickets() + " unassigned tickets");
+        }
+        if (stats.getTotalEngineers() > stats.getActiveEngineers()) {
+            warnings.add("Some engineers are inactive");
+        }
+        if (stats.getAverageTicketsPerEngineer() != null
+                && stats.getAverageTicketsPerEngineer() > TICKET_LOAD_WARNING) {
+            warnings.add("High ticket load per engineer: " + String.format("%.1f", stats.getAverageTicketsPerEngineer()));
+        }
+        if (avgResolution > RESOLUTION_HOURS_WARNING) {
+            warnings.add("Average resolution time is high: " + String.format("%.1f hours", avgResolution));
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("unassignedTickets", stats.getUnassignedTickets());
+        details.put("activeEngineers", stats.getActiveEngineers());
+        details.put("averageResolutionTimeHours", avgResolution);
+        details.put("snapshotAt", stats.getGeneratedAt());
+
+        return HealthProbeResponse.builder()
+                .name(name())
+                .status(warnings.isEmpty() ? HealthStatus.UP : HealthStatus.WARN)
+                .warnings(warnings)
+                .details(details)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+}
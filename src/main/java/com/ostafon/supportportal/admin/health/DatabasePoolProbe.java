@@ -0,0 +1,152 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database liveness and Hikari connection pool saturation
+ * Liveness borrows a connection and validates it at most once per interval;
+ * pool counters alone look healthy when the database is gone but the pool is idle.
+ */
+@Component
+@Slf4j
+public class DatabasePoolProbe implements HealthProbe {
+
+    private static final double SATURATION_WARNING = 0.9;
+
+    private final DataSource dataSource;
+    private final long livenessIntervalMillis;
+    private final int validationTimeoutSeconds;
+
+    private volatile Liveness liveness;
+
+    public DatabasePoolProbe(DataSource dataSource,
+                             @Value("${health.database.liveness-interval-ms:10000}") long livenessIntervalMillis,
+                             @Value("${health.database.validation-timeout-seconds:2}") int validationTimeoutSeconds) {
+        this.dataSource = dataSource;
+        this.livenessIntervalMillis = livenessIntervalMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Override
+    public String name() {
+        return "database";
+    }
+
+    @Override
+    public Duration ttl() {
+        return Duration.ofSeconds(2);
+    }
+
+    @Override
+    public HealthProbeResponse check() {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            Liveness current = checkLiveness(false);
+            if (!current.alive()) {
+                return result(HealthStatus.DOWN, List.of("Database unreachable: " + current.error()), Map.of());
+            }
+            return result(HealthStatus.WARN, List.of("Connection pool is not Hikari, saturation unknown"), Map.of());
+        }
+
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return result(HealthStatus.DOWN, List.of("Connection pool is not started"), Map.of());
+        }
+
+        int active = pool.getActiveConnections();
+        int idle = pool.getIdleConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        int max = hikari.getMaximumPoolSize();
+
+        // A saturated pool would only queue the probe behind real work; keep the last result then
+        Liveness current = checkLiveness(waiting > 0);
+        if (!current.alive()) {
+            return result(HealthStatus.DOWN, List.of("Database unreachable: " + current.error()),
+                    Map.of("total", pool.getTotalConnections(), "max", max));
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("active", active);
+        details.put("idle", idle);
+        details.put("total", pool.getTotalConnections());
+        details.put("max", max);
+        details.put("threadsAwaiting", waiting);
+        if (current.latencyMillis() >= 0) {
+            details.put("latencyMs", current.latencyMillis());
+        }
+
+        List<String> warnings = new ArrayList<>();
+        if (waiting > 0) {
+            warnings.add(waiting + " threads waiting for a DB connection");
+        }
+        if (max > 0 && (double) active / max >= SATURATION_WARNING) {
+            warnings.add("DB pool is " + (active * 100 / max) + "% busy");
+        }
+
+        return result(warnings.isEmpty() ? HealthStatus.UP : HealthStatus.WARN, warnings, details);
+    }
+
+    /**
+     * Validate a pooled connection unless the cached result is still fresh
+     * @param skip keep the cached result even if it is stale
+     * @return liveness
+     */
+    private Liveness checkLiveness(boolean skip) {
+        Liveness cached = liveness;
+        long now = System.currentTimeMillis();
+        if (cached != null && (skip || now - cached.checkedAt() < livenessIntervalMillis)) {
+            return cached;
+        }
+
+        Liveness next;
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            next = connection.isValid(validationTimeoutSeconds)
+                    ? new Liveness(true, null, (System.nanoTime() - started) / 1_000_000, now)
+                    : new Liveness(false, "connection validation timed out", -1, now);
+        } catch (SQLException e) {
+            next = new Liveness(false, e.getMessage(), -1, now);
+        }
+
+        if (!next.alive()) {
+            log.warn("Database health check failed: {}", next.error());
+        }
+        liveness = next;
+        return next;
+    }
+
+    private HealthProbeResponse result(HealthStatus status, List<String> warnings, Map<String, Object> details) {
+        return HealthProbeResponse.builder()
+                .name(name())
+                .status(status)
+                .warnings(warnings)
+                .details(details)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * @param latencyMillis borrow and validation time, -1 if failed
+     * @param checkedAt epoch millis of the check
+     */
+    private record Liveness(boolean alive, String error, long latencyMillis, long checkedAt) {
+    }
+}
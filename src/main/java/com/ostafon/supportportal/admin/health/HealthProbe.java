@@ -0,0 +1,28 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+
+import java.time.Duration;
+
+/**
+ * Single dependency or subsystem check
+ * Probes are run in background by HealthService, never on the request path
+ */
+public interface HealthProbe {
+
+    /**
+     * Probe name, unique
+     */
+    String name();
+
+    /**
+     * How long a result stays fresh
+     */
+    Duration ttl();
+
+    /**
+     * Run check; may block on I/O
+     * @return probe result
+     */
+    HealthProbeResponse check();
+}
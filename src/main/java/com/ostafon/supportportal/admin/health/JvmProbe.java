@@ -0,0 +1,88 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap usage and GC pressure
+ * GC pressure is the share of wall time spent collecting since the previous check
+ */
+@Component
+public class JvmProbe implements HealthProbe {
+
+    private static final double HEAP_WARNING = 0.9;
+    private static final double GC_WARNING = 0.1;
+    private static final long MB = 1024 * 1024;
+
+    private long lastGcMillis = -1;
+    private long lastCheckNanos;
+
+    @Override
+    public String name() {
+        return "jvm";
+    }
+
+    @Override
+    public Duration ttl() {
+        return Duration.ofSeconds(5);
+    }
+
+    @Override
+    public synchronized HealthProbeResponse check() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        double heapRatio = max > 0 ? (double) heap.getUsed() / max : 0;
+
+        long gcMillis = 0;
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcMillis += Math.max(gc.getCollectionTime(), 0);
+            gcCount += Math.max(gc.getCollectionCount(), 0);
+        }
+
+        long now = System.nanoTime();
+        double gcRatio = 0;
+        if (lastGcMillis >= 0) {
+            long elapsedMillis = (now - lastCheckNanos) / 1_000_000;
+            if (elapsedMillis > 0) {
+                gcRatio = (double) (gcMillis - lastGcMillis) / elapsedMillis;
+            }
+        }
+        lastGcMillis = gcMillis;
+        lastCheckNanos = now;
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("heapUsedMb", heap.getUsed() / MB);
+        details.put("heapMaxMb", max / MB);
+        details.put("gcCount", gcCount);
+        details.put("gcTimePercent", Math.round(gcRatio * 1000) / 10.0);
+        details.put("threads", ManagementFactory.getThreadMXBean().getThreadCount());
+
+        List<String> warnings = new ArrayList<>();
+        if (heapRatio >= HEAP_WARNING) {
+            warnings.add("Heap usage is " + Math.round(heapRatio * 100) + "%");
+        }
+        if (gcRatio >= GC_WARNING) {
+            warnings.add("GC takes " + Math.round(gcRatio * 100) + "% of time");
+        }
+
+        return HealthProbeResponse.builder()
+                .name(name())
+                .status(warnings.isEmpty() ? HealthStatus.UP : HealthStatus.WARN)
+                .warnings(warnings)
+                .details(details)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ostafon.supportportal.admin.health;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SMTP server reachability
+ * Opens and closes a transport connection, so it runs rarely
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpProbe implements HealthProbe {
+
+    private final JavaMailSender mailSender;
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public Duration ttl() {
+        return Duration.ofMinutes(1);
+    }
+
+    @Override
+    public HealthProbeResponse check() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        HealthStatus status = HealthStatus.UP;
+        List<String> warnings = List.of();
+
+        if (mailSender instanceof JavaMailSenderImpl sender) {
+            details.put("host", sender.getHost());
+            details.put("port", sender.getPort());
+            long started = System.nanoTime();
+            try {
+                sender.testConnection();
+                details.put("latencyMs", (System.nanoTime() - started) / 1_000_000);
+            } catch (MessagingException e) {
+                log.warn("SMTP health check failed: {}", e.getMessage());
+                // Mail is best-effort, the portal keeps working without it
+                status = HealthStatus.WARN;
+                warnings = List.of("SMTP server unreachable: " + e.getMessage());
+            }
+        } else {
+            warnings = List.of("Mail sender does not support connection test");
+            status = HealthStatus.WARN;
+        }
+
+        return HealthProbeResponse.builder()
+                .name(name())
+                .status(status)
+                .warnings(warnings)
+                .details(details)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+}
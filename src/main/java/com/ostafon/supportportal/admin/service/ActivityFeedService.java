@@ -0,0 +1,344 @@
+package com.ostafon.supportportal.admin.service;
+
+import com.ostafon.supportportal.admin.dto.ActivityPageResponse;
+import com.ostafon.supportportal.admin.dto.SystemActivityResponse;
+import com.ostafon.supportportal.common.enums.ActivityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * System activity feed
+ * Recording only queues the entry, so it costs the originating request a queue
+ * offer. A background flusher takes ids for each batch from system_activity_id_seq,
+ * so several instances never collide, puts the entries into a lock-free ring buffer
+ * indexed by id, inserts them into system_activity and pushes them to
+ * /topic/admin/activity once stored; a failed batch is kept and retried.
+ * With the cluster relay enabled the local ring misses entries of other nodes,
+ * so pages are then read from the table only.
+ */
+@Service
+@Slf4j
+public class ActivityFeedService {
+
+    public static final String ACTIVITY_TOPIC = "/topic/admin/activity";
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // A retried batch may have been partly stored already
+    private static final String INSERT_SQL =
+            "INSERT INTO system_activity (id, activity_type, user_id, user_name, description, details, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING";
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval('system_activity_id_seq') FROM generate_series(1, ?)";
+
+    private static final String PAGE_SQL =
+            "SELECT id, activity_type, user_id, user_name, description, details, created_at " +
+            "FROM system_activity WHERE id <= ? ORDER BY id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final boolean clustered;
+
+    private final AtomicReferenceArray<SystemActivityResponse> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong(); // highest id written to the ring
+    private volatile long firstRingId = 1;
+
+    private final Queue<SystemActivityResponse> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<SystemActivityResponse> failed = new ArrayList<>(); // guarded by flush()
+
+    public ActivityFeedService(JdbcTemplate jdbcTemplate,
+                               SimpMessagingTemplate messagingTemplate,
+                               @Value("${admin.activity.buffer-size:1024}") int bufferSize,
+                               @Value("${admin.activity.batch-size:500}") int batchSize,
+                               @Value("${admin.activity.max-pending:10000}") int maxPending,
+                               @Value("${chat.cluster-relay.enabled:false}") boolean clustered) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.clustered = clustered;
+
+        // Power of two so the slot is id & mask
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 16) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Start the ring after the last persisted entry; older pages come from the table
+     */
+    @PostConstruct
+    public void init() {
+        Long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM system_activity", Long.class);
+        long seed = lastId != null ? lastId : 0;
+        sequence.set(seed);
+        firstRingId = seed + 1;
+        log.info("Activity feed starts after id {}", seed);
+    }
+
+    /**
+     * Record activity
+     * Inside a transaction the entry is published only after commit
+     * @param type activity type
+     * @param userId acting or affected user ID
+     * @param userName user display name
+     * @param description short human-readable text
+     * @param details optional extra details
+     */
+    public void record(ActivityType type, Long userId, String userName, String description, String details) {
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(timestamp, type, userId, userName, description, details);
+                }
+            });
+        } else {
+            append(timestamp, type, userId, userName, description, details);
+        }
+    }
+
+    /**
+     * Get activity page, newest first
+     * Served from the ring buffer while it covers the page, older entries from the table
+     * @param before return entries with id lower than this (null = latest)
+     * @param limit page size
+     * @return activity page
+     */
+    public ActivityPageResponse getActivity(Long before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (clustered) {
+            long id = before != null ? before - 1 : Long.MAX_VALUE;
+            List<SystemActivityResponse> items = id > 0
+                    ? jdbcTemplate.query(PAGE_SQL, this::mapRow, id, limit)
+                    : List.of();
+            return page(items, limit);
+        }
+
+        long head = sequence.get();
+        long id = before != null ? Math.min(before - 1, head) : head;
+        long ringFloor = Math.max(firstRingId, head - ring.length() + 1);
+
+        List<SystemActivityResponse> items = new ArrayList<>(limit);
+        while (items.size() < limit && id >= ringFloor) {
+            SystemActivityResponse entry = ring.get((int) (id & mask));
+            if (entry != null && entry.getId() == id) {
+                items.add(entry);
+            } else if (entry != null && entry.getId() > id) {
+                // Slot already reused by a newer entry - continue from the table
+                break;
+            }
+            // Otherwise id belongs to another node or is not yet written
+            id--;
+        }
+
+        if (items.size() < limit && id > 0) {
+            items.addAll(jdbcTemplate.query(PAGE_SQL, this::mapRow, id, limit - items.size()));
+        }
+
+        return page(items, limit);
+    }
+
+    /**
+     * Persist queued entries in batches and push them to subscribers
+     * A batch that cannot be stored is kept and retried first on the next run
+     */
+    @Scheduled(fixedDelayString = "${admin.activity.flush-ms:1000}")
+    public synchronized void flush() {
+        if (!failed.isEmpty()) {
+            List<SystemActivityResponse> retry = new ArrayList<>(failed);
+            failed.clear();
+            if (!write(retry)) {
+                return;
+            }
+        }
+
+        List<SystemActivityResponse> batch = new ArrayList<>(batchSize);
+        SystemActivityResponse entry;
+        while ((entry = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("Activity feed dropped {} entries, persistence is falling behind", lost);
+        }
+    }
+
+    /**
+     * Persist what is still queued before the context closes
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        int left = failed.size() + pendingCount.get();
+        if (left > 0) {
+            log.error("Activity feed lost {} unsaved entries on shutdown", left);
+        }
+    }
+
+    private void append(LocalDateTime timestamp, ActivityType type, Long userId, String userName,
+                        String description, String details) {
+        // Id is assigned by the flusher
+        SystemActivityResponse entry = SystemActivityResponse.builder()
+                .timestamp(timestamp)
+                .activityType(type.name())
+                .userId(userId)
+                .userName(userName)
+                .description(description)
+                .details(details)
+                .build();
+
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.offer(entry);
+    }
+
+    /**
+     * Give new entries ids from the sequence and make them visible in the ring
+     * Retried entries keep the ids they already have
+     */
+    private void assignIds(List<SystemActivityResponse> batch) {
+        List<SystemActivityResponse> unassigned = batch.stream().filter(entry -> entry.getId() == null).toList();
+        if (unassigned.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(
+                jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, unassigned.size()));
+        ids.sort(null);
+        for (int i = 0; i < unassigned.size(); i++) {
+            SystemActivityResponse entry = unassigned.get(i);
+            long id = ids.get(i);
+            entry.setId(id);
+            ring.set((int) (id & mask), entry);
+            sequence.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    /**
+     * @return false if the batch was kept for retry
+     */
+    private boolean write(List<SystemActivityResponse> batch) {
+        try {
+            assignIds(batch);
+        } catch (Exception e) {
+            log.error("Failed to take ids for {} activity entries, will retry: {}", batch.size(), e.getMessage());
+            failed.addAll(batch);
+            return false;
+        }
+
+        List<SystemActivityResponse> stored;
+        try {
+            insert(batch);
+            stored = batch;
+        } catch (DataIntegrityViolationException e) {
+            // One bad entry must not hold back the rest - store row by row and skip the rejected ones
+            stored = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                SystemActivityResponse entry = batch.get(i);
+                try {
+                    insert(List.of(entry));
+                    stored.add(entry);
+                } catch (DataIntegrityViolationException rejected) {
+                    log.error("Discarding activity entry {}: {}", entry.getId(), rejected.getMessage());
+                } catch (Exception retry) {
+                    log.error("Failed to persist activity entries, will retry: {}", retry.getMessage());
+                    failed.addAll(batch.subList(i, batch.size()));
+                    publish(stored);
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to persist {} activity entries, will retry: {}", batch.size(), e.getMessage());
+            failed.addAll(batch);
+            return false;
+        }
+
+        publish(stored);
+        return true;
+    }
+
+    private void insert(List<SystemActivityResponse> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getId());
+            ps.setString(2, entry.getActivityType());
+            ps.setObject(3, entry.getUserId());
+            ps.setString(4, entry.getUserName());
+            ps.setString(5, entry.getDescription());
+            ps.setString(6, entry.getDetails());
+            ps.setTimestamp(7, Timestamp.valueOf(entry.getTimestamp()));
+        });
+    }
+
+    private void publish(List<SystemActivityResponse> entries) {
+        for (SystemActivityResponse entry : entries) {
+            messagingTemplate.convertAndSend(ACTIVITY_TOPIC, entry);
+        }
+    }
+
+    private ActivityPageResponse page(List<SystemActivityResponse> items, int limit) {
+        Long nextCursor = items.size() == limit ? items.get(items.size() - 1).getId() : null;
+
+        return ActivityPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private SystemActivityResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return SystemActivityResponse.builder()
+                .id(rs.getLong("id"))
+                .activityType(rs.getString("activity_type"))
+                .userId(rs.getObject("user_id", Long.class))
+                .userName(rs.getString("user_name"))
+                .description(rs.getString("description"))
+                .details(rs.getString("details"))
+                .timestamp(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.ostafon.supportportal.admin.service;
+
+import com.ostafon.supportportal.admin.dto.DashboardStatsResponse;
+import com.ostafon.supportportal.analytics.service.ResolutionTimeCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Precomputed admin dashboard statistics
+ * A background refresher computes the whole snapshot with one SQL statement
+ * and keeps it in memory; requests read the latest snapshot and connected
+ * admin tabs receive only changed fields on /topic/admin/dashboard.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotService {
+
+    public static final String DASHBOARD_TOPIC = "/topic/admin/dashboard";
+
+    private static final String SNAPSHOT_SQL =
+            "SELECT u.*, t.* FROM " +
+            "(SELECT COUNT(*) AS total_users, " +
+            "        COUNT(*) FILTER (WHERE is_active) AS active_users, " +
+            "        COUNT(*) FILTER (WHERE NOT is_active) AS inactive_users, " +
+            "        COUNT(*) FILTER (WHERE role = 'ENGINEER') AS total_engineers, " +
+            "        COUNT(*) FILTER (WHERE role = 'ADMIN') AS total_admins, " +
+            "        COUNT(*) FILTER (WHERE role = 'ENGINEER' AND is_active) AS active_engineers, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS new_users_today, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS new_users_week, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS new_users_month " +
+            " FROM users) u, " +
+            "(SELECT COUNT(*) AS total_tickets, " +
+            "        COUNT(*) FILTER (WHERE status = 'NEW') AS new_tickets, " +
+            "        COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_tickets, " +
+            "        COUNT(*) FILTER (WHERE status = 'RESOLVED') AS resolved_tickets, " +
+            "        COUNT(*) FILTER (WHERE status = 'CLOSED') AS closed_tickets, " +
+            "        COUNT(*) FILTER (WHERE assignee_id IS NULL) AS unassigned_tickets, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS created_today, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS created_week, " +
+            "        COUNT(*) FILTER (WHERE created_at > ?) AS created_month, " +
+            "        COUNT(*) FILTER (WHERE status = 'RESOLVED' AND updated_at > ?) AS resolved_today, " +
+            "        COUNT(*) FILTER (WHERE status = 'RESOLVED' AND updated_at > ?) AS resolved_week, " +
+            "        COUNT(*) FILTER (WHERE status = 'RESOLVED' AND updated_at > ?) AS resolved_month " +
+            " FROM tickets) t";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final ResolutionTimeCounter resolutionTimeCounter;
+
+    private final AtomicReference<DashboardStatsResponse> snapshot = new AtomicReference<>();
+
+    /**
+     * Get latest snapshot, computing it if the refresher has not run yet
+     * @return dashboard statistics
+     */
+    public DashboardStatsResponse getSnapshot() {
+        DashboardStatsResponse current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Recompute snapshot and broadcast changed fields
+     * @return new snapshot
+     */
+    @Scheduled(fixedDelayString = "${admin.dashboard.refresh-interval-ms:5000}")
+    public synchronized DashboardStatsResponse refresh() {
+        DashboardStatsResponse next = load();
+        DashboardStatsResponse previous = snapshot.getAndSet(next);
+
+        if (previous != null) {
+            Map<String, Object> changes = diff(previous, next);
+            if (!changes.isEmpty()) {
+                changes.put("generatedAt", next.getGeneratedAt());
+                messagingTemplate.convertAndSend(DASHBOARD_TOPIC, changes);
+                log.debug("Dashboard snapshot changed: {}", changes.keySet());
+            }
+        }
+
+        return next;
+    }
+
+    private DashboardStatsResponse load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfToday = now.toLocalDate().atStartOfDay();
+        LocalDateTime startOfWeek = now.minusWeeks(1);
+        LocalDateTime startOfMonth = now.minusMonths(1);
+
+        return jdbcTemplate.queryForObject(SNAPSHOT_SQL, (rs, rowNum) -> toResponse(rs, now),
+                startOfToday, startOfWeek, startOfMonth,
+                startOfToday, startOfWeek, startOfMonth,
+                startOfToday, startOfWeek, startOfMonth);
+    }
+
+    private DashboardStatsResponse toResponse(ResultSet rs, LocalDateTime generatedAt) throws SQLException {
+        long totalTickets = rs.getLong("total_tickets");
+        long resolvedTickets = rs.getLong("resolved_tickets");
+        long closedTickets = rs.getLong("closed_tickets");
+        long activeEngineers = rs.getLong("active_engineers");
+
+        return DashboardStatsResponse.builder()
+                .totalUsers(rs.getLong("total_users"))
+                .activeUsers(rs.getLong("active_users"))
+                .inactiveUsers(rs.getLong("inactive_users"))
+                .totalEngineers(rs.getLong("total_engineers"))
+                .totalAdmins(rs.getLong("total_admins"))
+                .newUsersToday(rs.getLong("new_users_today"))
+                .newUsersThisWeek(rs.getLong("new_users_week"))
+                .newUsersThisMonth(rs.getLong("new_users_month"))
+                .totalTickets(totalTickets)
+                .newTickets(rs.getLong("new_tickets"))
+                .inProgressTickets(rs.getLong("in_progress_tickets"))
+                .resolvedTickets(resolvedTickets)
+                .closedTickets(closedTickets)
+                .unassignedTickets(rs.getLong("unassigned_tickets"))
+                .ticketsCreatedToday(rs.getLong("created_today"))
+                .ticketsCreatedThisWeek(rs.getLong("created_week"))
+                .ticketsCreatedThisMonth(rs.getLong("created_month"))
+                .ticketsResolvedToday(rs.getLong("resolved_today"))
+                .ticketsResolvedThisWeek(rs.getLong("resolved_week"))
+                .ticketsResolvedThisMonth(rs.getLong("resolved_month"))
+                .averageResolutionTimeHours(resolutionTimeCounter.averageHours())
+                .ticketResolutionRate(totalTickets > 0
+                        ? ((double) (resolvedTickets + closedTickets) / totalTickets) * 100 : 0.0)
+                .activeEngineers(activeEngineers)
+                .averageTicketsPerEngineer(activeEngineers > 0 ? (double) totalTickets / activeEngineers : 0.0)
+                .generatedAt(generatedAt.toString())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> diff(DashboardStatsResponse previous, DashboardStatsResponse next) {
+        Map<String, Object> before = objectMapper.convertValue(previous, Map.class);
+        Map<String, Object> after = objectMapper.convertValue(next, Map.class);
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        after.forEach((field, value) -> {
+            if (!"generatedAt".equals(field) && !Objects.equals(before.get(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        return changes;
+    }
+}
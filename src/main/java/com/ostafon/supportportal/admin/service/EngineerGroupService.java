@@ -2,19 +2,29 @@ package com.ostafon.supportportal.admin.service;
 
 import com.ostafon.supportportal.admin.dto.CreateEngineerGroupRequest;
 import com.ostafon.supportportal.admin.dto.EngineerGroupResponse;
+import com.ostafon.supportportal.admin.dto.GroupBacklogResponse;
+import com.ostafon.supportportal.admin.dto.GroupQueueResponse;
 import com.ostafon.supportportal.common.enums.UserRole;
 import com.ostafon.supportportal.common.exception.ResourceNotFoundException;
+import com.ostafon.supportportal.tickets.dto.response.TicketResponse;
+import com.ostafon.supportportal.tickets.mapper.TicketMapper;
+import com.ostafon.supportportal.tickets.repo.TicketRepo;
 import com.ostafon.supportportal.users.model.EngineerGroupEntity;
 import com.ostafon.supportportal.users.model.UserEntity;
 import com.ostafon.supportportal.users.repo.EngineerGroupRepo;
 import com.ostafon.supportportal.users.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,6 +38,8 @@ public class EngineerGroupService {
 
     private final EngineerGroupRepo groupRepo;
     private final UserRepo userRepo;
+    private final TicketRepo ticketRepo;
+    private final GroupBacklogTracker backlogTracker;
 
     /**
      * Create new engineer group
@@ -43,22 +55,9 @@ public class EngineerGroupService {
             throw new IllegalArgumentException("Group with name '" + request.getName() + "' already exists");
         }
 
-        Set<UserEntity> members = new HashSet<>();
-        if (request.getMemberIds() != null && !request.getMemberIds().isEmpty()) {
-            members = request.getMemberIds().stream()
-                    .map(id -> {
-                        UserEntity user = userRepo.findById(id)
-                                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-
-                        // Verify user is engineer or admin
-                        if (user.getRole() != UserRole.ENGINEER && user.getRole() != UserRole.ADMIN) {
-                            throw new IllegalArgumentException("Only engineers and admins can be added to groups");
-                        }
-
-                        return user;
-                    })
-                    .collect(Collectors.toSet());
-        }
+        Set<UserEntity> members = request.getMemberIds() != null
+                ? loadMembers(request.getMemberIds())
+                : new HashSet<>();
 
         EngineerGroupEntity group = EngineerGroupEntity.builder()
                 .name(request.getName().trim())
@@ -74,15 +73,31 @@ public class EngineerGroupService {
 
     /**
      * Get all engineer groups
+     * Built from a single group/member projection instead of loading each member set
      * @return list of groups
      */
     @Transactional(readOnly = true)
     public List<EngineerGroupResponse> getAllGroups() {
         log.info("Fetching all engineer groups");
 
-        return groupRepo.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Map<Long, EngineerGroupResponse> groups = new LinkedHashMap<>();
+        for (Object[] row : groupRepo.findAllWithMemberNames()) {
+            EngineerGroupResponse group = groups.computeIfAbsent((Long) row[0], id -> EngineerGroupResponse.builder()
+                    .id(id)
+                    .name((String) row[1])
+                    .description((String) row[2])
+                    .memberIds(new HashSet<>())
+                    .memberNames(new HashSet<>())
+                    .build());
+
+            if (row[3] != null) {
+                group.getMemberIds().add((Long) row[3]);
+                group.getMemberNames().add(row[4] + " " + row[5]);
+            }
+        }
+
+        groups.values().forEach(group -> group.setMemberCount(group.getMemberIds().size()));
+        return new ArrayList<>(groups.values());
     }
 
     /**
@@ -94,12 +109,59 @@ public class EngineerGroupService {
     public EngineerGroupResponse getGroupById(Long groupId) {
         log.info("Fetching group by ID: {}", groupId);
 
-        EngineerGroupEntity group = groupRepo.findById(groupId)
+        EngineerGroupEntity group = groupRepo.findWithMembersById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Engineer Group", "id", groupId));
 
         return toResponse(group);
     }
 
+    /**
+     * Get group work queue
+     * Open tickets ordered by priority, due date and age, plus live backlog gauges
+     * @param groupId group ID
+     * @param limit max tickets to return
+     * @return group queue
+     */
+    @Transactional(readOnly = true)
+    public GroupQueueResponse getGroupQueue(Long groupId, int limit) {
+        if (limit < 1 || limit > 200) {
+            throw new IllegalArgumentException("Limit must be between 1 and 200");
+        }
+
+        EngineerGroupEntity group = groupRepo.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Engineer Group", "id", groupId));
+
+        List<TicketResponse> tickets = ticketRepo
+                .findGroupQueue(groupId, GroupBacklogTracker.OPEN_STATUSES, PageRequest.of(0, limit)).stream()
+                .map(TicketMapper::toResponse)
+                .collect(Collectors.toList());
+
+        return GroupQueueResponse.builder()
+                .groupId(groupId)
+                .groupName(group.getName())
+                .backlog(backlogTracker.getBacklog(groupId))
+                .tickets(tickets)
+                .build();
+    }
+
+    /**
+     * Get live backlog gauges of a group
+     * Served from memory, safe to poll frequently
+     * @param groupId group ID
+     * @return backlog gauges
+     */
+    public GroupBacklogResponse getGroupBacklog(Long groupId) {
+        return backlogTracker.getBacklog(groupId);
+    }
+
+    /**
+     * Get live backlog gauges of all groups with open tickets
+     * @return backlog gauges
+     */
+    public List<GroupBacklogResponse> getAllBacklogs() {
+        return backlogTracker.getAllBacklogs();
+    }
+
     /**
      * Update engineer group
      * @param groupId group ID
@@ -110,7 +172,7 @@ public class EngineerGroupService {
     public EngineerGroupResponse updateGroup(Long groupId, CreateEngineerGroupRequest request) {
         log.info("Updating engineer group ID: {}", groupId);
 
-        EngineerGroupEntity group = groupRepo.findById(groupId)
+        EngineerGroupEntity group = groupRepo.findWithMembersById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Engineer Group", "id", groupId));
 
         // Check if new name conflicts with another group
@@ -122,19 +184,7 @@ public class EngineerGroupService {
         group.setDescription(request.getDescription());
 
         if (request.getMemberIds() != null) {
-            Set<UserEntity> members = request.getMemberIds().stream()
-                    .map(id -> {
-                        UserEntity user = userRepo.findById(id)
-                                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-
-                        if (user.getRole() != UserRole.ENGINEER && user.getRole() != UserRole.ADMIN) {
-                            throw new IllegalArgumentException("Only engineers and admins can be added to groups");
-                        }
-
-                        return user;
-                    })
-                    .collect(Collectors.toSet());
-
+            Set<UserEntity> members = loadMembers(request.getMemberIds());
             group.setMembers(members);
         }
 
@@ -154,7 +204,7 @@ public class EngineerGroupService {
     public EngineerGroupResponse addMember(Long groupId, Long userId) {
         log.info("Adding user {} to group {}", userId, groupId);
 
-        EngineerGroupEntity group = groupRepo.findById(groupId)
+        EngineerGroupEntity group = groupRepo.findWithMembersById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Engineer Group", "id", groupId));
 
         UserEntity user = userRepo.findById(userId)
@@ -182,7 +232,7 @@ public class EngineerGroupService {
     public EngineerGroupResponse removeMember(Long groupId, Long userId) {
         log.info("Removing user {} from group {}", userId, groupId);
 
-        EngineerGroupEntity group = groupRepo.findById(groupId)
+        EngineerGroupEntity group = groupRepo.findWithMembersById(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("Engineer Group", "id", groupId));
 
         UserEntity user = userRepo.findById(userId)
@@ -211,6 +261,34 @@ public class EngineerGroupService {
         log.info("Engineer group {} deleted successfully", groupId);
     }
 
+    /**
+     * Load group members with one query
+     * @param memberIds requested user IDs
+     * @return member entities
+     */
+    private Set<UserEntity> loadMembers(Collection<Long> memberIds) {
+        Set<Long> ids = new HashSet<>(memberIds);
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        List<UserEntity> users = userRepo.findAllById(ids);
+        if (users.size() < ids.size()) {
+            users.forEach(user -> ids.remove(user.getId()));
+            Long missingId = ids.iterator().next();
+            throw new ResourceNotFoundException("User", "id", missingId);
+        }
+
+        for (UserEntity user : users) {
+            // Verify user is engineer or admin
+            if (user.getRole() != UserRole.ENGINEER && user.getRole() != UserRole.ADMIN) {
+                throw new IllegalArgumentException("Only engineers and admins can be added to groups");
+            }
+        }
+
+        return new HashSet<>(users);
+    }
+
     /**
      * Convert entity to response DTO
      * @param group group entity
@@ -0,0 +1,209 @@
+package com.ostafon.supportportal.admin.service;
+
+import com.ostafon.supportportal.admin.dto.GroupBacklogResponse;
+import com.ostafon.supportportal.common.enums.TicketStatus;
+import com.ostafon.supportportal.tickets.event.TicketChangedEvent;
+import com.ostafon.supportportal.tickets.repo.TicketRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-group backlog gauges kept in memory
+ * Open tickets of every group are indexed by creation time and due date;
+ * ticket events move single entries, so reading the gauges never hits the database.
+ * Reconciled against the database on startup and periodically.
+ */
+@Component
+@Slf4j
+public class GroupBacklogTracker {
+
+    public static final List<TicketStatus> OPEN_STATUSES = List.of(TicketStatus.NEW, TicketStatus.IN_PROGRESS);
+
+    private static final Comparator<OpenTicket> BY_CREATED =
+            Comparator.comparing(OpenTicket::createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparingLong(OpenTicket::id);
+    private static final Comparator<OpenTicket> BY_DUE =
+            Comparator.comparing(OpenTicket::dueAt).thenComparingLong(OpenTicket::id);
+
+    private final TicketRepo ticketRepo;
+    private final Duration slaRiskWindow;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, OpenTicket> openTickets = new HashMap<>();
+    private Map<Long, GroupState> groups = new HashMap<>();
+
+    public GroupBacklogTracker(TicketRepo ticketRepo,
+                               @Value("${admin.group-queue.sla-risk-hours:4}") long slaRiskHours) {
+        this.ticketRepo = ticketRepo;
+        this.slaRiskWindow = Duration.ofHours(slaRiskHours);
+    }
+
+    /**
+     * Get gauges of one group
+     * @param groupId group ID
+     * @return backlog gauges (zeros for a group without open tickets)
+     */
+    public GroupBacklogResponse getBacklog(Long groupId) {
+        LocalDateTime now = LocalDateTime.now();
+        lock.readLock().lock();
+        try {
+            GroupState state = groups.get(groupId);
+            return state != null ? state.toResponse(groupId, now, slaRiskWindow)
+                    : GroupBacklogResponse.builder().groupId(groupId).build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get gauges of all groups with open tickets
+     * @return backlog gauges
+     */
+    public List<GroupBacklogResponse> getAllBacklogs() {
+        LocalDateTime now = LocalDateTime.now();
+        lock.readLock().lock();
+        try {
+            List<GroupBacklogResponse> result = new ArrayList<>(groups.size());
+            groups.forEach((groupId, state) -> result.add(state.toResponse(groupId, now, slaRiskWindow)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply committed ticket change
+     * @param event ticket snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        OpenTicket next = !event.deleted() && event.groupId() != null && OPEN_STATUSES.contains(event.status())
+                ? new OpenTicket(event.ticketId(), event.groupId(), event.assigneeId() != null,
+                                 event.createdAt(), event.dueAt())
+                : null;
+
+        lock.writeLock().lock();
+        try {
+            apply(openTickets, groups, event.ticketId(), next);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild gauges from the database
+     * Corrects drift from changes made outside TicketService
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${admin.group-queue.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        Map<Long, OpenTicket> freshTickets = new HashMap<>();
+        Map<Long, GroupState> freshGroups = new HashMap<>();
+
+        for (Object[] row : ticketRepo.findOpenGroupTicketFacts(OPEN_STATUSES)) {
+            OpenTicket ticket = new OpenTicket((Long) row[0], (Long) row[1], row[2] != null,
+                    (LocalDateTime) row[3], (LocalDateTime) row[4]);
+            apply(freshTickets, freshGroups, ticket.id(), ticket);
+        }
+
+        lock.writeLock().lock();
+        try {
+            openTickets = freshTickets;
+            groups = freshGroups;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Group backlog reconciled: {} open tickets in {} groups", freshTickets.size(), freshGroups.size());
+    }
+
+    private void apply(Map<Long, OpenTicket> tickets, Map<Long, GroupState> states, Long ticketId, OpenTicket next) {
+        OpenTicket previous = next != null ? tickets.put(ticketId, next) : tickets.remove(ticketId);
+
+        if (previous != null) {
+            GroupState state = states.get(previous.groupId());
+            if (state != null) {
+                state.remove(previous);
+                if (state.isEmpty()) {
+                    states.remove(previous.groupId());
+                }
+            }
+        }
+        if (next != null) {
+            states.computeIfAbsent(next.groupId(), id -> new GroupState()).add(next);
+        }
+    }
+
+    private record OpenTicket(long id, long groupId, boolean assigned, LocalDateTime createdAt, LocalDateTime dueAt) {
+    }
+
+    /**
+     * Open tickets of one group
+     */
+    private static class GroupState {
+
+        private final TreeSet<OpenTicket> byCreated = new TreeSet<>(BY_CREATED);
+        private final TreeSet<OpenTicket> byDue = new TreeSet<>(BY_DUE);
+        private int unassigned;
+
+        void add(OpenTicket ticket) {
+            byCreated.add(ticket);
+            if (ticket.dueAt() != null) {
+                byDue.add(ticket);
+            }
+            if (!ticket.assigned()) {
+                unassigned++;
+            }
+        }
+
+        void remove(OpenTicket ticket) {
+            byCreated.remove(ticket);
+            if (ticket.dueAt() != null) {
+                byDue.remove(ticket);
+            }
+            if (!ticket.assigned()) {
+                unassigned--;
+            }
+        }
+
+        boolean isEmpty() {
+            return byCreated.isEmpty();
+        }
+
+        GroupBacklogResponse toResponse(Long groupId, LocalDateTime now, Duration riskWindow) {
+            LocalDateTime oldest = byCreated.isEmpty() ? null : byCreated.first().createdAt();
+            // Only the head of the due-date index up to the window is walked
+            int overdue = byDue.headSet(probe(now)).size();
+            int dueSoon = byDue.headSet(probe(now.plus(riskWindow))).size();
+
+            return GroupBacklogResponse.builder()
+                    .groupId(groupId)
+                    .openTickets(byCreated.size())
+                    .unassignedTickets(unassigned)
+                    .oldestOpenAt(oldest)
+                    .oldestAgeMinutes(oldest != null ? Duration.between(oldest, now).toMinutes() : null)
+                    .slaAtRisk(dueSoon - overdue)
+                    .overdue(overdue)
+                    .build();
+        }
+
+        private static OpenTicket probe(LocalDateTime dueAt) {
+            return new OpenTicket(Long.MIN_VALUE, 0, true, dueAt, dueAt);
+        }
+    }
+}
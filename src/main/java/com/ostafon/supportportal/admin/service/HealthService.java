@@ -0,0 +1,129 @@
+package com.ostafon.supportportal.admin.service;
+
+import com.ostafon.supportportal.admin.dto.HealthProbeResponse;
+import com.ostafon.supportportal.admin.health.HealthProbe;
+import com.ostafon.supportportal.common.enums.HealthStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs health probes in background and caches their results
+ * Each probe is refreshed when its own TTL expires; readers only see the cache,
+ * so polling the health endpoint never touches the DB or the network
+ */
+@Service
+@Slf4j
+public class HealthService {
+
+    private final List<HealthProbe> probes;
+    private final TaskExecutor executor;
+
+    private final Map<String, HealthProbeResponse> results = new ConcurrentHashMap<>();
+    private final Map<String, Long> nextRunNanos = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public HealthService(List<HealthProbe> probes,
+                         @Qualifier("healthProbeExecutor") TaskExecutor executor) {
+        this.probes = probes;
+        this.executor = executor;
+    }
+
+    /**
+     * Run all probes once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refreshDue();
+    }
+
+    /**
+     * Schedule probes whose cached result has expired
+     */
+    @Scheduled(fixedDelayString = "${health.probe.tick-ms:1000}")
+    public void refreshDue() {
+        long now = System.nanoTime();
+        for (HealthProbe probe : probes) {
+            Long next = nextRunNanos.get(probe.name());
+            if (next != null && now - next < 0) {
+                continue;
+            }
+            // Slow probe (e.g. SMTP timeout) must not pile up runs
+            if (!inFlight.add(probe.name())) {
+                continue;
+            }
+            try {
+                executor.execute(() -> run(probe));
+            } catch (TaskRejectedException e) {
+                inFlight.remove(probe.name());
+                log.warn("Health probe {} rejected: {}", probe.name(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get latest probe results
+     * Probes that never finished are reported as DOWN
+     * @return results in probe order
+     */
+    public List<HealthProbeResponse> getResults() {
+        List<HealthProbeResponse> list = new ArrayList<>(probes.size());
+        for (HealthProbe probe : probes) {
+            HealthProbeResponse result = results.get(probe.name());
+            list.add(result != null ? result : HealthProbeResponse.builder()
+                    .name(probe.name())
+                    .status(HealthStatus.DOWN)
+                    .warnings(List.of("Probe " + probe.name() + " has not reported yet"))
+                    .details(Map.of())
+                    .build());
+        }
+        return list;
+    }
+
+    /**
+     * Get worst status across probes
+     * @param results probe results
+     * @return overall status
+     */
+    public HealthStatus overallStatus(List<HealthProbeResponse> results) {
+        HealthStatus worst = HealthStatus.UP;
+        for (HealthProbeResponse result : results) {
+            if (result.getStatus().ordinal() > worst.ordinal()) {
+                worst = result.getStatus();
+            }
+        }
+        return worst;
+    }
+
+    private void run(HealthProbe probe) {
+        HealthProbeResponse result;
+        try {
+            result = probe.check();
+        } catch (Exception e) {
+            log.warn("Health probe {} failed: {}", probe.name(), e.getMessage());
+            result = HealthProbeResponse.builder()
+                    .name(probe.name())
+                    .status(HealthStatus.DOWN)
+                    .warnings(List.of(probe.name() + " check failed: " + e.getMessage()))
+                    .details(Map.of())
+                    .checkedAt(LocalDateTime.now())
+                    .build();
+        } finally {
+            nextRunNanos.put(probe.name(), System.nanoTime() + probe.ttl().toNanos());
+            inFlight.remove(probe.name());
+        }
+        results.put(probe.name(), result);
+    }
+}
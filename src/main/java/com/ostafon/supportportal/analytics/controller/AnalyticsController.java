@@ -1,7 +1,15 @@
 package com.ostafon.supportportal.analytics.controller;
 
 import com.ostafon.supportportal.analytics.dto.*;
+import com.ostafon.supportportal.analytics.service.AnalyticsDashboardService;
+import com.ostafon.supportportal.analytics.service.AnalyticsRange;
+import com.ostafon.supportportal.analytics.service.AnalyticsRangeResolver;
 import com.ostafon.supportportal.analytics.service.AnalyticsService;
+import com.ostafon.supportportal.analytics.service.ForecastService;
+import com.ostafon.supportportal.analytics.service.TicketSliceQuery;
+import com.ostafon.supportportal.common.enums.AnalyticsDimension;
+import com.ostafon.supportportal.common.enums.TicketPriority;
+import com.ostafon.supportportal.common.enums.TicketStatus;
 import com.ostafon.supportportal.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,10 +17,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Set;
+
 /**
  * REST Controller for analytics
  * Provides insights on tickets, engineers, and users
@@ -28,6 +40,49 @@ import org.springframework.web.bind.annotation.*;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsDashboardService dashboardService;
+    private final AnalyticsRangeResolver rangeResolver;
+    private final ForecastService forecastService;
+
+    /**
+     * Get combined analytics dashboard
+     */
+    @GetMapping("/dashboard")
+    @Operation(
+            summary = "Get analytics dashboard",
+            description = "Get ticket, engineer and trend analytics (plus user analytics for admins) " +
+                         "for one period in a single call. Sections are computed concurrently."
+    )
+    public ResponseEntity<ApiResponse<AnalyticsDashboardResponse>> getDashboard(
+            @RequestParam(defaultValue = "TICKETS")
+            @Parameter(description = "Trend metric: TICKETS, RESOLUTION_TIME, ENGINEER_LOAD, BACKLOG")
+            String metric,
+
+            @RequestParam(defaultValue = "THIS_MONTH")
+            @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
+            String period,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for bucketing, e.g. Europe/Kyiv (default: server storage zone)")
+            String tz) {
+
+        log.info("REST: Get analytics dashboard for period: {}, from: {}, to: {}, tz: {}", period, from, to, tz);
+
+        AnalyticsRange range = rangeResolver.resolve(period, from, to, tz);
+        AnalyticsDashboardResponse dashboard = dashboardService.getDashboard(range, metric);
+
+        return ResponseEntity.ok(ApiResponse.success(dashboard));
+    }
 
     /**
      * Get ticket analytics for period
@@ -35,17 +90,33 @@ public class AnalyticsController {
     @GetMapping("/tickets")
     @Operation(
             summary = "Get ticket analytics",
-            description = "Get comprehensive ticket metrics for selected period. " +
-                         "Shows creation counts, resolution rates, distributions by status and priority."
+            description = "Get comprehensive ticket metrics for selected period or custom from/to range. " +
+                         "Shows creation counts, resolution rates, distributions by status and priority. " +
+                         "Peak days and hours are computed in the requested time zone."
     )
     public ResponseEntity<ApiResponse<TicketAnalyticsResponse>> getTicketAnalytics(
             @RequestParam(defaultValue = "THIS_MONTH")
             @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
-            String period) {
+            String period,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
 
-        log.info("REST: Get ticket analytics for period: {}", period);
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
 
-        TicketAnalyticsResponse analytics = analyticsService.getTicketAnalytics(period);
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for bucketing, e.g. Europe/Kyiv (default: server storage zone)")
+            String tz) {
+
+        log.info("REST: Get ticket analytics for period: {}, from: {}, to: {}, tz: {}", period, from, to, tz);
+
+        AnalyticsRange range = rangeResolver.resolve(period, from, to, tz);
+        TicketAnalyticsResponse analytics = analyticsService.getTicketAnalytics(range);
 
         return ResponseEntity.ok(ApiResponse.success(analytics));
     }
@@ -63,11 +134,26 @@ public class AnalyticsController {
     public ResponseEntity<ApiResponse<EngineerAnalyticsResponse>> getEngineerAnalytics(
             @RequestParam(defaultValue = "THIS_MONTH")
             @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
-            String period) {
+            String period,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for bucketing, e.g. Europe/Kyiv (default: server storage zone)")
+            String tz) {
 
-        log.info("REST: Get engineer analytics for period: {}", period);
+        log.info("REST: Get engineer analytics for period: {}, from: {}, to: {}, tz: {}", period, from, to, tz);
 
-        EngineerAnalyticsResponse analytics = analyticsService.getEngineerAnalytics(period);
+        AnalyticsRange range = rangeResolver.resolve(period, from, to, tz);
+        EngineerAnalyticsResponse analytics = analyticsService.getEngineerAnalytics(range);
 
         return ResponseEntity.ok(ApiResponse.success(analytics));
     }
@@ -85,42 +171,181 @@ public class AnalyticsController {
     public ResponseEntity<ApiResponse<UserAnalyticsResponse>> getUserAnalytics(
             @RequestParam(defaultValue = "THIS_MONTH")
             @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
-            String period) {
+            String period,
 
-        log.info("REST: Get user analytics for period: {}", period);
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
 
-        UserAnalyticsResponse analytics = analyticsService.getUserAnalytics(period);
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for bucketing, e.g. Europe/Kyiv (default: server storage zone)")
+            String tz) {
+
+        log.info("REST: Get user analytics for period: {}, from: {}, to: {}, tz: {}", period, from, to, tz);
+
+        AnalyticsRange range = rangeResolver.resolve(period, from, to, tz);
+        UserAnalyticsResponse analytics = analyticsService.getUserAnalytics(range);
 
         return ResponseEntity.ok(ApiResponse.success(analytics));
     }
 
+    /**
+     * Get user cohort matrix
+     */
+    @GetMapping("/users/cohorts")
+    @Operation(
+            summary = "Get user cohort matrix",
+            description = "Get retention of users grouped by registration month. " +
+                         "Each row shows how many users of the cohort created tickets in following months. " +
+                         "Admin only."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CohortMatrixResponse>> getCohortMatrix(
+            @RequestParam(defaultValue = "6")
+            @Parameter(description = "Number of monthly cohorts (1-24)")
+            int months) {
+
+        log.info("REST: Get cohort matrix for {} months", months);
+
+        CohortMatrixResponse matrix = analyticsService.getCohortMatrix(months);
+
+        return ResponseEntity.ok(ApiResponse.success(matrix));
+    }
+
     /**
      * Get trend analysis
      */
     @GetMapping("/trends")
     @Operation(
             summary = "Get trend analysis",
-            description = "Get daily trend data for selected metric. " +
+            description = "Get daily trend data for selected metric, days are taken in the requested time zone. " +
                          "Metrics: TICKETS (tickets created per day), " +
                          "RESOLUTION_TIME (avg resolution time per day), " +
-                         "ENGINEER_LOAD (avg tickets per engineer per day)."
+                         "ENGINEER_LOAD (avg open tickets per engineer per day), " +
+                         "BACKLOG (open tickets at the end of each day)."
     )
     public ResponseEntity<ApiResponse<TrendAnalyticsResponse>> getTrends(
             @RequestParam(defaultValue = "TICKETS")
-            @Parameter(description = "Metric: TICKETS, RESOLUTION_TIME, ENGINEER_LOAD")
+            @Parameter(description = "Metric: TICKETS, RESOLUTION_TIME, ENGINEER_LOAD, BACKLOG")
             String metric,
 
             @RequestParam(defaultValue = "THIS_MONTH")
             @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
-            String period) {
+            String period,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
 
-        log.info("REST: Get trends for metric: {}, period: {}", metric, period);
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for bucketing, e.g. Europe/Kyiv (default: server storage zone)")
+            String tz) {
 
-        TrendAnalyticsResponse trends = analyticsService.getTrends(metric, period);
+        log.info("REST: Get trends for metric: {}, period: {}, from: {}, to: {}, tz: {}", metric, period, from, to, tz);
+
+        AnalyticsRange range = rangeResolver.resolve(period, from, to, tz);
+        TrendAnalyticsResponse trends = analyticsService.getTrends(metric, range);
 
         return ResponseEntity.ok(ApiResponse.success(trends));
     }
 
+    /**
+     * Get ad-hoc ticket slice
+     */
+    @GetMapping("/slice")
+    @Operation(
+            summary = "Get ticket slice",
+            description = "Filter tickets created in range by status, priority, assignee and group, " +
+                         "then group by one dimension. Served from the in-memory fact store when enabled. " +
+                         "Admin only."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TicketSliceResponse>> getSlice(
+            @RequestParam(defaultValue = "NONE")
+            @Parameter(description = "Group by: NONE, STATUS, PRIORITY, ASSIGNEE, GROUP")
+            AnalyticsDimension groupBy,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Statuses to include (default: all)")
+            Set<TicketStatus> status,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Priorities to include (default: all)")
+            Set<TicketPriority> priority,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Assignee ID filter")
+            Long assigneeId,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Engineer group ID filter")
+            Long groupId,
+
+            @RequestParam(defaultValue = "THIS_MONTH")
+            @Parameter(description = "Period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
+            String period,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day of custom range (overrides period), e.g. 2026-01-01")
+            LocalDate from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day of custom range (inclusive), e.g. 2026-03-31")
+            LocalDate to,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for range boundaries (default: server storage zone)")
+            String tz) {
+
+        log.info("REST: Get ticket slice by {} for period: {}, from: {}, to: {}, tz: {}", groupBy, period, from, to, tz);
+
+        TicketSliceQuery query = new TicketSliceQuery(
+                rangeResolver.resolve(period, from, to, tz), status, priority, assigneeId, groupId, groupBy);
+        TicketSliceResponse slice = analyticsService.getSlice(query);
+
+        return ResponseEntity.ok(ApiResponse.success(slice));
+    }
+
+    /**
+     * Get ticket volume forecast
+     */
+    @GetMapping("/forecast")
+    @Operation(
+            summary = "Get ticket volume forecast",
+            description = "Get expected tickets per hour for the next 14 days with 95% bands. " +
+                         "Seasonal models are updated once per day from closed days, " +
+                         "per engineer group or for all tickets."
+    )
+    public ResponseEntity<ApiResponse<ForecastResponse>> getForecast(
+            @RequestParam(required = false)
+            @Parameter(description = "Engineer group ID, 0 for tickets without group (default: all tickets)")
+            Long groupId,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone of returned timestamps (default: server storage zone)")
+            String tz) {
+
+        log.info("REST: Get forecast for group: {}, tz: {}", groupId, tz);
+
+        ForecastResponse forecast = forecastService.getForecast(groupId, tz);
+
+        return ResponseEntity.ok(ApiResponse.success(forecast));
+    }
+
     /**
      * Compare two periods
      */
@@ -137,11 +362,15 @@ public class AnalyticsController {
 
             @RequestParam(defaultValue = "LAST_MONTH")
             @Parameter(description = "Second period: THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER")
-            String period2) {
+            String period2,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone for period boundaries (default: server storage zone)")
+            String tz) {
 
-        log.info("REST: Compare analytics for periods: {} vs {}", period1, period2);
+        log.info("REST: Compare analytics for periods: {} vs {} ({})", period1, period2, tz);
 
-        ComparisonAnalyticsResponse comparison = analyticsService.compareAnalytics(period1, period2);
+        ComparisonAnalyticsResponse comparison = analyticsService.compareAnalytics(period1, period2, tz);
 
         return ResponseEntity.ok(ApiResponse.success(comparison));
     }
@@ -0,0 +1,137 @@
+package com.ostafon.supportportal.analytics.controller;
+
+import com.ostafon.supportportal.analytics.service.AnalyticsExportService;
+import com.ostafon.supportportal.analytics.service.AnalyticsRange;
+import com.ostafon.supportportal.analytics.service.AnalyticsRangeResolver;
+import com.ostafon.supportportal.common.enums.ExportDataset;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST Controller for analytics export
+ * Streams CSV directly to the response (chunked, gzip when accepted)
+ */
+@RestController
+@RequestMapping("/api/analytics/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Analytics Export", description = "Bulk analytics export for BI tools")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AnalyticsExportService exportService;
+    private final AnalyticsRangeResolver rangeResolver;
+
+    /**
+     * Export dataset as CSV
+     */
+    @GetMapping
+    @Operation(
+            summary = "Export analytics data",
+            description = "Stream ticket fact rows (TICKETS) or hourly rollups (HOURLY) as CSV ordered by key. " +
+                         "Pass the last received key as cursor to resume an interrupted export. " +
+                         "Response is gzip-compressed when the client accepts it. Admin only."
+    )
+    public void export(
+            @RequestParam(defaultValue = "TICKETS")
+            @Parameter(description = "Dataset: TICKETS, HOURLY")
+            ExportDataset dataset,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First day (default: no lower bound)")
+            LocalDate from,
+
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last day, inclusive (default: no upper bound)")
+            LocalDate to,
+
+            @RequestParam(required = false)
+            @Parameter(description = "IANA time zone of from/to days (default: server storage zone)")
+            String tz,
+
+            @RequestParam(required = false)
+            @Parameter(description = "Resume after key: ticket ID for TICKETS, bucket instant for HOURLY")
+            String cursor,
+
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+
+            HttpServletResponse response) throws IOException {
+
+        log.info("REST: Export {} from: {}, to: {}, tz: {}, cursor: {}", dataset, from, to, tz, cursor);
+
+        // Validate everything before the response is committed
+        AnalyticsRange range = from != null || to != null ? rangeResolver.resolve(null, from, to, tz) : null;
+        Long afterId = dataset == ExportDataset.TICKETS ? parseIdCursor(cursor) : null;
+        LocalDateTime afterBucket = dataset == ExportDataset.HOURLY ? parseBucketCursor(cursor) : null;
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + dataset.name().toLowerCase() + ".csv\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        OutputStream body = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+                : response.getOutputStream();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (dataset == ExportDataset.TICKETS) {
+                exportService.exportTickets(range, afterId, out);
+            } else {
+                exportService.exportHourly(range, afterBucket, out);
+            }
+        }
+    }
+
+    private Long parseIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must be a ticket ID for TICKETS export");
+        }
+    }
+
+    private LocalDateTime parseBucketCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.ofInstant(Instant.parse(cursor.trim()), ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor must be an ISO instant for HOURLY export");
+        }
+    }
+}
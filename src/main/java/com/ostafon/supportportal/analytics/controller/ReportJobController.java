@@ -0,0 +1,132 @@
+package com.ostafon.supportportal.analytics.controller;
+
+import com.ostafon.supportportal.analytics.dto.CreateReportJobRequest;
+import com.ostafon.supportportal.analytics.dto.ReportJobResponse;
+import com.ostafon.supportportal.analytics.service.ReportJobService;
+import com.ostafon.supportportal.common.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for asynchronous analytics reports
+ * Long ranges are computed in background, clients poll the job
+ * or subscribe to /topic/analytics/jobs/{userId} for completion
+ */
+@RestController
+@RequestMapping("/api/analytics/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Analytics Jobs", description = "Asynchronous analytics reports")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasAnyRole('ADMIN', 'ENGINEER')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submit report job
+     */
+    @PostMapping
+    @Operation(
+            summary = "Submit report job",
+            description = "Queue an analytics report for background execution. " +
+                         "The range is a preset period or a custom from/to range, bucketed in optional tz. " +
+                         "Returns job ID to poll; completion is also pushed to /topic/analytics/jobs/{userId}."
+    )
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(
+            @Valid @RequestBody CreateReportJobRequest request) {
+
+        log.info("REST: Submit report job {}", request.getReportType());
+
+        ReportJobResponse job = reportJobService.submitJob(request);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Report job submitted", job));
+    }
+
+    /**
+     * Get my report jobs
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get my report jobs",
+            description = "List report jobs of the current user, newest first"
+    )
+    public ResponseEntity<ApiResponse<Page<ReportJobResponse>>> getMyJobs(
+            @RequestParam(defaultValue = "0") @Parameter(description = "Page number") int page,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size") int size) {
+
+        Page<ReportJobResponse> jobs = reportJobService.getMyJobs(PageRequest.of(page, size));
+
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+
+    /**
+     * Get report job state
+     */
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Get report job",
+            description = "Get status of a report job"
+    )
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(
+            @PathVariable @Parameter(description = "Job ID") Long jobId) {
+
+        ReportJobResponse job = reportJobService.getJob(jobId);
+
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
+    /**
+     * Download report result
+     */
+    @GetMapping("/{jobId}/result")
+    @Operation(
+            summary = "Download report result",
+            description = "Download stored JSON result of a completed report job"
+    )
+    public ResponseEntity<String> getJobResult(
+            @PathVariable @Parameter(description = "Job ID") Long jobId) {
+
+        log.info("REST: Download report job {} result", jobId);
+
+        String result = reportJobService.getJobResult(jobId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-" + jobId + ".json\"")
+                .body(result);
+    }
+
+    /**
+     * Cancel report job
+     */
+    @DeleteMapping("/{jobId}")
+    @Operation(
+            summary = "Cancel report job",
+            description = "Cancel a queued or running report job"
+    )
+    public ResponseEntity<ApiResponse<ReportJobResponse>> cancelJob(
+            @PathVariable @Parameter(description = "Job ID") Long jobId) {
+
+        log.info("REST: Cancel report job {}", jobId);
+
+        ReportJobResponse job = reportJobService.cancelJob(jobId);
+
+        return ResponseEntity.ok(ApiResponse.success("Report job cancelled", job));
+    }
+}
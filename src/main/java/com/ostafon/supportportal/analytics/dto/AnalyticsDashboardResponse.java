@@ -0,0 +1,27 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+/**
+ * Response DTO for combined analytics dashboard
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsDashboardResponse {
+
+    @JsonProperty("tickets")
+    private TicketAnalyticsResponse tickets;
+
+    @JsonProperty("engineers")
+    private EngineerAnalyticsResponse engineers;
+
+    @JsonProperty("users")
+    private UserAnalyticsResponse users; // null for engineers
+
+    @JsonProperty("trends")
+    private TrendAnalyticsResponse trends;
+}
@@ -0,0 +1,49 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO for user cohort matrix
+ * Cohort = users registered in the same month, columns = months since registration
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CohortMatrixResponse {
+
+    @JsonProperty("fromMonth")
+    private String fromMonth;
+
+    @JsonProperty("toMonth")
+    private String toMonth;
+
+    @JsonProperty("cohorts")
+    private List<CohortRow> cohorts;
+
+    /**
+     * Single cohort row
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CohortRow {
+        @JsonProperty("cohort")
+        private String cohort; // e.g. 2026-05
+
+        @JsonProperty("size")
+        private long size;
+
+        @JsonProperty("activeUsers")
+        private List<Long> activeUsers; // index = months since registration
+
+        @JsonProperty("retentionRates")
+        private List<Double> retentionRates; // percentage
+    }
+}
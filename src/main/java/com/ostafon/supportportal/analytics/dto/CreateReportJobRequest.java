@@ -0,0 +1,48 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ostafon.supportportal.common.enums.ReportType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for submitting an analytics report job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateReportJobRequest {
+
+    @JsonProperty("reportType")
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    @JsonProperty("period")
+    private String period; // THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER
+
+    @JsonProperty("period2")
+    private String period2; // second period for COMPARE
+
+    @JsonProperty("metric")
+    private String metric; // metric for TRENDS
+
+    @JsonProperty("months")
+    @Min(value = 1, message = "Months must be at least 1")
+    @Max(value = 24, message = "Months must be at most 24")
+    private Integer months; // cohort count for COHORTS
+
+    @JsonProperty("from")
+    private LocalDate from; // first day of custom range, overrides period
+
+    @JsonProperty("to")
+    private LocalDate to; // last day of custom range (inclusive)
+
+    @JsonProperty("tz")
+    private String tz; // IANA time zone, defaults to storage zone
+}
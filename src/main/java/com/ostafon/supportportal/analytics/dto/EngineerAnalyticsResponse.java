@@ -18,6 +18,15 @@ public class EngineerAnalyticsResponse {
     @JsonProperty("period")
     private String period;
 
+    @JsonProperty("startDate")
+    private String startDate;
+
+    @JsonProperty("endDate")
+    private String endDate;
+
+    @JsonProperty("timezone")
+    private String timezone; // IANA zone used for bucketing
+
     @JsonProperty("engineers")
     private List<EngineerMetrics> engineers;
 
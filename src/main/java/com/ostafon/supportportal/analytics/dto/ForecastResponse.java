@@ -0,0 +1,57 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO for hourly ticket volume forecast
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastResponse {
+
+    @JsonProperty("groupId")
+    private Long groupId; // null = all tickets, 0 = tickets without group
+
+    @JsonProperty("timezone")
+    private String timezone;
+
+    @JsonProperty("trainedThrough")
+    private String trainedThrough; // last observed hour (exclusive), ISO instant
+
+    @JsonProperty("horizonHours")
+    private int horizonHours;
+
+    @JsonProperty("ready")
+    private boolean ready; // false while the model has less than two weeks of data
+
+    @JsonProperty("points")
+    private List<ForecastPoint> points;
+
+    /**
+     * Forecast for one hour
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ForecastPoint {
+        @JsonProperty("time")
+        private String time; // hour start, ISO with offset of requested zone
+
+        @JsonProperty("expected")
+        private double expected;
+
+        @JsonProperty("lower")
+        private double lower; // 95% band
+
+        @JsonProperty("upper")
+        private double upper; // 95% band
+    }
+}
@@ -0,0 +1,62 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ostafon.supportportal.common.enums.ReportJobStatus;
+import com.ostafon.supportportal.common.enums.ReportType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for analytics report job state
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("reportType")
+    private ReportType reportType;
+
+    @JsonProperty("period")
+    private String period;
+
+    @JsonProperty("period2")
+    private String period2;
+
+    @JsonProperty("metric")
+    private String metric;
+
+    @JsonProperty("months")
+    private Integer months;
+
+    @JsonProperty("from")
+    private LocalDate from;
+
+    @JsonProperty("to")
+    private LocalDate to;
+
+    @JsonProperty("tz")
+    private String tz;
+
+    @JsonProperty("status")
+    private ReportJobStatus status;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("startedAt")
+    private LocalDateTime startedAt;
+
+    @JsonProperty("finishedAt")
+    private LocalDateTime finishedAt;
+}
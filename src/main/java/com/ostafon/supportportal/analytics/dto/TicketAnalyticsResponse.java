@@ -17,7 +17,7 @@ import java.util.Map;
 public class TicketAnalyticsResponse {
 
     @JsonProperty("period")
-    private String period; // THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER
+    private String period; // THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER, CUSTOM
 
     @JsonProperty("startDate")
     private String startDate;
@@ -25,6 +25,9 @@ public class TicketAnalyticsResponse {
     @JsonProperty("endDate")
     private String endDate;
 
+    @JsonProperty("timezone")
+    private String timezone; // IANA zone used for bucketing
+
     @JsonProperty("ticketMetrics")
     private TicketMetrics ticketMetrics;
 
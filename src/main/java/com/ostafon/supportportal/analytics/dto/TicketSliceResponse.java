@@ -0,0 +1,60 @@
+package com.ostafon.supportportal.analytics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO for ad-hoc ticket slice (filter + group by)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSliceResponse {
+
+    @JsonProperty("startDate")
+    private String startDate;
+
+    @JsonProperty("endDate")
+    private String endDate;
+
+    @JsonProperty("timezone")
+    private String timezone;
+
+    @JsonProperty("groupBy")
+    private String groupBy; // NONE, STATUS, PRIORITY, ASSIGNEE, GROUP
+
+    @JsonProperty("source")
+    private String source; // FACT_STORE or DATABASE
+
+    @JsonProperty("totalTickets")
+    private long totalTickets;
+
+    @JsonProperty("rows")
+    private List<SliceRow> rows;
+
+    /**
+     * Single group of the slice
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SliceRow {
+        @JsonProperty("key")
+        private String key; // enum name, user/group ID, NONE or ALL
+
+        @JsonProperty("count")
+        private long count;
+
+        @JsonProperty("resolved")
+        private long resolved;
+
+        @JsonProperty("avgResolutionTimeHours")
+        private double avgResolutionTimeHours;
+    }
+}
@@ -18,8 +18,11 @@ public class TrendAnalyticsResponse {
     @JsonProperty("period")
     private String period;
 
+    @JsonProperty("timezone")
+    private String timezone; // IANA zone, data points are days of this zone
+
     @JsonProperty("metric")
-    private String metric; // TICKETS, RESOLUTION_TIME, ENGINEER_LOAD
+    private String metric; // TICKETS, RESOLUTION_TIME, ENGINEER_LOAD, BACKLOG
 
     @JsonProperty("data")
     private List<TrendDataPoint> data;
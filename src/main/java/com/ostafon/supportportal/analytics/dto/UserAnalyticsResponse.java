@@ -16,6 +16,15 @@ public class UserAnalyticsResponse {
     @JsonProperty("period")
     private String period;
 
+    @JsonProperty("startDate")
+    private String startDate;
+
+    @JsonProperty("endDate")
+    private String endDate;
+
+    @JsonProperty("timezone")
+    private String timezone; // IANA zone used for bucketing
+
     @JsonProperty("newUsersCount")
     private long newUsersCount;
 
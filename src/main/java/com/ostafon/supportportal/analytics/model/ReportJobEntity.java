@@ -0,0 +1,83 @@
+package com.ostafon.supportportal.analytics.model;
+
+import com.ostafon.supportportal.common.enums.ReportJobStatus;
+import com.ostafon.supportportal.common.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Asynchronous analytics report job with its persisted result
+ */
+@Entity
+@Table(name = "analytics_report_jobs")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ReportJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 50)
+    private ReportType reportType;
+
+    @Column(length = 50)
+    private String period;
+
+    @Column(length = 50)
+    private String period2;
+
+    @Column(length = 50)
+    private String metric;
+
+    @Column
+    private Integer months;
+
+    @Column(name = "from_date")
+    private LocalDate fromDate;
+
+    @Column(name = "to_date")
+    private LocalDate toDate;
+
+    @Column(length = 64)
+    private String tz;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ReportJobStatus status;
+
+    @Column(columnDefinition = "text")
+    private String result;
+
+    @Column(columnDefinition = "text")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "owner_node", length = 64)
+    private String ownerNode;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (status == null) status = ReportJobStatus.QUEUED;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ostafon.supportportal.analytics.model;
+
+import com.ostafon.supportportal.common.enums.ReportJobStatus;
+import com.ostafon.supportportal.common.enums.ReportType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Report job state without the stored result, for status polling and listings
+ */
+public interface ReportJobSummary {
+
+    Long getId();
+
+    Long getOwnerId();
+
+    ReportType getReportType();
+
+    String getPeriod();
+
+    String getPeriod2();
+
+    String getMetric();
+
+    Integer getMonths();
+
+    LocalDate getFromDate();
+
+    LocalDate getToDate();
+
+    String getTz();
+
+    ReportJobStatus getStatus();
+
+    String getError();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getStartedAt();
+
+    LocalDateTime getFinishedAt();
+}
@@ -0,0 +1,25 @@
+package com.ostafon.supportportal.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day fold of ticket status events
+ * openDelta = tickets opened minus tickets closed that day
+ */
+@Entity
+@Table(name = "ticket_backlog_daily")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TicketBacklogDailyEntity {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "open_delta", nullable = false)
+    private long openDelta;
+}
@@ -0,0 +1,31 @@
+package com.ostafon.supportportal.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly ticket rollup keyed by UTC hour
+ * Lets any range be bucketed into any time zone without touching tickets
+ */
+@Entity
+@Table(name = "ticket_hourly_stats")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TicketHourlyStatsEntity {
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart; // UTC, truncated to hour
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "resolved_count", nullable = false)
+    private long resolvedCount;
+
+    @Column(name = "resolution_hours_sum", nullable = false)
+    private long resolutionHoursSum;
+}
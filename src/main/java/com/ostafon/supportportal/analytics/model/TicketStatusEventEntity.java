@@ -0,0 +1,40 @@
+package com.ostafon.supportportal.analytics.model;
+
+import com.ostafon.supportportal.common.enums.TicketStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log of ticket status transitions
+ * Kept without a foreign key so history survives ticket deletion
+ */
+@Entity
+@Table(name = "ticket_status_events")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TicketStatusEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status", length = 50)
+    private TicketStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", length = 50)
+    private TicketStatus newStatus;
+
+    @Column(name = "open_delta", nullable = false)
+    private int openDelta;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,152 @@
+package com.ostafon.supportportal.analytics.repo;
+
+import com.ostafon.supportportal.analytics.model.ReportJobEntity;
+import com.ostafon.supportportal.analytics.model.ReportJobSummary;
+import com.ostafon.supportportal.common.enums.ReportJobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for analytics report jobs
+ * Status transitions are conditional updates, so the worker and a cancel
+ * request never overwrite each other's state.
+ */
+@Repository
+public interface ReportJobRepo extends JpaRepository<ReportJobEntity, Long> {
+
+    /**
+     * Find jobs of a user, newest first, without results
+     * @param ownerId owner user ID
+     * @param pageable pagination parameters
+     * @return page of jobs
+     */
+    Page<ReportJobSummary> findByOwnerIdOrderByCreatedAtDesc(Long ownerId, Pageable pageable);
+
+    /**
+     * Find job state without its result
+     * @param id job ID
+     * @return job state
+     */
+    Optional<ReportJobSummary> findSummaryById(Long id);
+
+    /**
+     * Get stored result of a job
+     * @param id job ID
+     * @return result JSON, null if none
+     */
+    @Query("SELECT j.result FROM ReportJobEntity j WHERE j.id = :id")
+    String findResultById(@Param("id") Long id);
+
+    /**
+     * Move a queued job to running
+     * @param id job ID
+     * @param startedAt start time
+     * @return 1 if the job was still queued, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.RUNNING, " +
+           "j.startedAt = :startedAt " +
+           "WHERE j.id = :id AND j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.QUEUED")
+    int startJob(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Store result of a running job
+     * @param id job ID
+     * @param result result JSON
+     * @param finishedAt finish time
+     * @return 1 if the job was still running, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.COMPLETED, " +
+           "j.result = :result, j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.RUNNING")
+    int completeJob(@Param("id") Long id, @Param("result") String result, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Mark job as failed
+     * @param id job ID
+     * @param statuses statuses the job may be in
+     * @param error error message
+     * @param finishedAt finish time
+     * @return 1 if the job was in one of the statuses, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.FAILED, " +
+           "j.error = :error, j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status IN :statuses")
+    int failJob(@Param("id") Long id, @Param("statuses") List<ReportJobStatus> statuses,
+                @Param("error") String error, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Mark job as cancelled
+     * @param id job ID
+     * @param statuses statuses the job may be in
+     * @param finishedAt finish time
+     * @return 1 if the job was in one of the statuses, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.CANCELLED, " +
+           "j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status IN :statuses")
+    int cancelJob(@Param("id") Long id, @Param("statuses") List<ReportJobStatus> statuses,
+                  @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Renew the lease of unfinished jobs owned by a node
+     * @param node owning node ID
+     * @param statuses unfinished statuses
+     * @param now heartbeat time
+     * @return number of renewed jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.heartbeatAt = :now WHERE j.ownerNode = :node AND j.status IN :statuses")
+    int renewLeases(@Param("node") String node, @Param("statuses") List<ReportJobStatus> statuses,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Mark jobs left unfinished by a previous run of a node as failed,
+     * along with jobs of any node whose lease has expired
+     * @param statuses unfinished statuses
+     * @param node restarted node ID
+     * @param staleBefore leases renewed before this have expired
+     * @param finishedAt finish time
+     * @return number of updated jobs
+     */
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.FAILED, " +
+           "j.error = 'Interrupted by server restart', j.finishedAt = :finishedAt " +
+           "WHERE j.status IN :statuses " +
+           "AND (j.ownerNode = :node OR j.ownerNode IS NULL OR j.heartbeatAt < :staleBefore)")
+    int failUnfinished(@Param("statuses") List<ReportJobStatus> statuses, @Param("node") String node,
+                       @Param("staleBefore") LocalDateTime staleBefore, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Mark unfinished jobs whose owning node stopped renewing the lease as failed
+     * @param statuses unfinished statuses
+     * @param staleBefore leases renewed before this have expired
+     * @param finishedAt finish time
+     * @return number of updated jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportJobEntity j SET j.status = com.ostafon.supportportal.common.enums.ReportJobStatus.FAILED, " +
+           "j.error = 'Interrupted: owning server stopped', j.finishedAt = :finishedAt " +
+           "WHERE j.status IN :statuses AND (j.ownerNode IS NULL OR j.heartbeatAt < :staleBefore)")
+    int failExpired(@Param("statuses") List<ReportJobStatus> statuses,
+                    @Param("staleBefore") LocalDateTime staleBefore, @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,45 @@
+package com.ostafon.supportportal.analytics.repo;
+
+import com.ostafon.supportportal.analytics.model.TicketBacklogDailyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for daily backlog deltas
+ */
+@Repository
+public interface TicketBacklogDailyRepo extends JpaRepository<TicketBacklogDailyEntity, LocalDate> {
+
+    /**
+     * Add delta to the day row, creating it if missing
+     * @param day day
+     * @param delta open ticket delta
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ticket_backlog_daily (stat_date, open_delta) VALUES (:day, :delta) " +
+                   "ON CONFLICT (stat_date) DO UPDATE SET open_delta = ticket_backlog_daily.open_delta + EXCLUDED.open_delta",
+           nativeQuery = true)
+    void addDelta(@Param("day") LocalDate day, @Param("delta") long delta);
+
+    /**
+     * Sum of deltas before a day = open tickets at the start of that day
+     * @param day day
+     * @return open ticket count
+     */
+    @Query("SELECT COALESCE(SUM(d.openDelta), 0) FROM TicketBacklogDailyEntity d WHERE d.statDate < :day")
+    long sumDeltaBefore(@Param("day") LocalDate day);
+
+    /**
+     * Find day rows in range
+     * @param from first day
+     * @param to last day
+     * @return rows ordered by day
+     */
+    List<TicketBacklogDailyEntity> findAllByStatDateBetweenOrderByStatDateAsc(LocalDate from, LocalDate to);
+}
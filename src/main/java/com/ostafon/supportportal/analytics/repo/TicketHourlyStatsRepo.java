@@ -0,0 +1,57 @@
+package com.ostafon.supportportal.analytics.repo;
+
+import com.ostafon.supportportal.analytics.model.TicketHourlyStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for hourly ticket rollups
+ */
+@Repository
+public interface TicketHourlyStatsRepo extends JpaRepository<TicketHourlyStatsEntity, LocalDateTime> {
+
+    /**
+     * Add created tickets to hour bucket
+     * @param bucket UTC hour
+     * @param delta +1 for created, -1 for deleted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ticket_hourly_stats (bucket_start, created_count, resolved_count, resolution_hours_sum) " +
+                   "VALUES (:bucket, :delta, 0, 0) " +
+                   "ON CONFLICT (bucket_start) DO UPDATE SET " +
+                   "created_count = ticket_hourly_stats.created_count + EXCLUDED.created_count",
+           nativeQuery = true)
+    void addCreated(@Param("bucket") LocalDateTime bucket, @Param("delta") long delta);
+
+    /**
+     * Add resolved tickets to hour bucket
+     * @param bucket UTC hour
+     * @param delta +1 for resolved, -1 for deleted
+     * @param hours resolution time in hours (negated for deleted)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ticket_hourly_stats (bucket_start, created_count, resolved_count, resolution_hours_sum) " +
+                   "VALUES (:bucket, 0, :delta, :hours) " +
+                   "ON CONFLICT (bucket_start) DO UPDATE SET " +
+                   "resolved_count = ticket_hourly_stats.resolved_count + EXCLUDED.resolved_count, " +
+                   "resolution_hours_sum = ticket_hourly_stats.resolution_hours_sum + EXCLUDED.resolution_hours_sum",
+           nativeQuery = true)
+    void addResolved(@Param("bucket") LocalDateTime bucket, @Param("delta") long delta, @Param("hours") long hours);
+
+    /**
+     * Find buckets in range
+     * @param from first bucket (inclusive)
+     * @param to last bucket (exclusive)
+     * @return buckets ordered by time
+     */
+    @Query("SELECT s FROM TicketHourlyStatsEntity s " +
+           "WHERE s.bucketStart >= :from AND s.bucketStart < :to " +
+           "ORDER BY s.bucketStart ASC")
+    List<TicketHourlyStatsEntity> findRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.ostafon.supportportal.analytics.repo;
+
+import com.ostafon.supportportal.analytics.model.TicketStatusEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ticket status event log
+ */
+@Repository
+public interface TicketStatusEventRepo extends JpaRepository<TicketStatusEventEntity, Long> {
+}
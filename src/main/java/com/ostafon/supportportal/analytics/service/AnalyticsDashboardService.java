@@ -0,0 +1,74 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.analytics.dto.AnalyticsDashboardResponse;
+import com.ostafon.supportportal.common.utils.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Combined analytics dashboard
+ * Sections are independent and DB-bound, so they run concurrently on a
+ * bounded pool; each section keeps its own read-only transaction.
+ */
+@Service
+@Slf4j
+public class AnalyticsDashboardService {
+
+    private final AnalyticsService analyticsService;
+    private final Executor executor;
+
+    public AnalyticsDashboardService(AnalyticsService analyticsService,
+                                     @Qualifier("analyticsDashboardExecutor") ThreadPoolTaskExecutor executor) {
+        this.analyticsService = analyticsService;
+        // Engineer analytics depends on the caller, so the security context travels with each section
+        this.executor = new DelegatingSecurityContextExecutor(executor);
+    }
+
+    /**
+     * Get dashboard for range
+     * @param range resolved range
+     * @param metric trend metric
+     * @return all sections
+     */
+    public AnalyticsDashboardResponse getDashboard(AnalyticsRange range, String metric) {
+        log.info("Fetching analytics dashboard for {} - {} ({})", range.firstDay(), range.lastDay(), range.zone());
+
+        boolean isAdmin = SecurityUtils.hasRole("ADMIN");
+
+        var tickets = submit(() -> analyticsService.getTicketAnalytics(range));
+        var engineers = submit(() -> analyticsService.getEngineerAnalytics(range));
+        var trends = submit(() -> analyticsService.getTrends(metric, range));
+        var users = isAdmin ? submit(() -> analyticsService.getUserAnalytics(range)) : null;
+
+        return AnalyticsDashboardResponse.builder()
+                .tickets(join(tickets))
+                .engineers(join(engineers))
+                .trends(join(trends))
+                .users(users != null ? join(users) : null)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, executor);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the section's own exception to the global handler
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
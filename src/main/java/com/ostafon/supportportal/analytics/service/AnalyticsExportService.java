@@ -0,0 +1,156 @@
+package com.ostafon.supportportal.analytics.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV export of ticket facts and hourly rollups for BI tools
+ * Rows are written straight from a server-side JDBC cursor in key order,
+ * so memory does not depend on export size and an interrupted export
+ * resumes from the last key received. Timestamps are UTC ISO instants.
+ */
+@Service
+@Slf4j
+public class AnalyticsExportService {
+
+    private static final int FETCH_SIZE = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId storageZone;
+
+    public AnalyticsExportService(DataSource dataSource, AnalyticsRangeResolver rangeResolver) {
+        // Own template so the cursor fetch size does not leak to other users
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.storageZone = rangeResolver.getStorageZone();
+    }
+
+    /**
+     * Stream ticket fact rows ordered by ID
+     * Cursor needs a transaction, otherwise the driver reads everything at once
+     * @param range creation range, null for all tickets
+     * @param afterId resume after this ticket ID, optional
+     * @param out target writer
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportTickets(AnalyticsRange range, Long afterId, Writer out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, status, priority, requester_id, assignee_id, group_id, " +
+                "created_at, first_response_at, closed_at FROM tickets WHERE id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterId != null ? afterId : 0L);
+        if (range != null) {
+            sql.append(" AND created_at >= ? AND created_at <= ?");
+            args.add(range.storageStart());
+            args.add(range.storageEnd());
+        }
+        sql.append(" ORDER BY id");
+
+        out.write("id,status,priority,requester_id,assignee_id,group_id,created_at,first_response_at,closed_at,resolution_hours\n");
+        long[] rows = {0};
+        stream(sql.toString(), args, rs -> {
+            LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+            LocalDateTime closedAt = rs.getObject("closed_at", LocalDateTime.class);
+            StringBuilder line = new StringBuilder(160)
+                    .append(rs.getLong("id")).append(',')
+                    .append(rs.getString("status")).append(',')
+                    .append(rs.getString("priority")).append(',')
+                    .append(nullable(rs, "requester_id")).append(',')
+                    .append(nullable(rs, "assignee_id")).append(',')
+                    .append(nullable(rs, "group_id")).append(',')
+                    .append(utc(createdAt)).append(',')
+                    .append(utc(rs.getObject("first_response_at", LocalDateTime.class))).append(',')
+                    .append(utc(closedAt)).append(',');
+            if (closedAt != null) {
+                line.append(Duration.between(createdAt, closedAt).toHours());
+            }
+            write(out, line.append('\n'));
+            rows[0]++;
+        });
+
+        out.flush();
+        log.info("Exported {} ticket rows after id {}", rows[0], afterId);
+        return rows[0];
+    }
+
+    /**
+     * Stream hourly rollups ordered by bucket
+     * @param range bucket range, null for all buckets
+     * @param afterBucket resume after this UTC bucket, optional
+     * @param out target writer
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportHourly(AnalyticsRange range, LocalDateTime afterBucket, Writer out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT bucket_start, created_count, resolved_count, resolution_hours_sum " +
+                "FROM ticket_hourly_stats WHERE bucket_start > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterBucket != null ? afterBucket : LocalDateTime.of(1970, 1, 1, 0, 0));
+        if (range != null) {
+            sql.append(" AND bucket_start >= ? AND bucket_start < ?");
+            args.add(range.utcStart());
+            args.add(range.utcEnd());
+        }
+        sql.append(" ORDER BY bucket_start");
+
+        out.write("bucket_start,created_count,resolved_count,resolution_hours_sum\n");
+        long[] rows = {0};
+        stream(sql.toString(), args, rs -> {
+            StringBuilder line = new StringBuilder(64)
+                    .append(rs.getObject("bucket_start", LocalDateTime.class).toInstant(ZoneOffset.UTC)).append(',')
+                    .append(rs.getLong("created_count")).append(',')
+                    .append(rs.getLong("resolved_count")).append(',')
+                    .append(rs.getLong("resolution_hours_sum")).append('\n');
+            write(out, line);
+            rows[0]++;
+        });
+
+        out.flush();
+        log.info("Exported {} hourly rows after {}", rows[0], afterBucket);
+        return rows[0];
+    }
+
+    private void stream(String sql, List<Object> args, RowCallbackHandler handler) throws IOException {
+        try {
+            jdbcTemplate.query(sql, handler, args.toArray());
+        } catch (UncheckedIOException e) {
+            // Client went away, abort the cursor
+            throw e.getCause();
+        }
+    }
+
+    private void write(Writer out, CharSequence line) {
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String nullable(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? "" : String.valueOf(value);
+    }
+
+    private String utc(LocalDateTime stored) {
+        return stored != null ? stored.atZone(storageZone).toInstant().toString() : "";
+    }
+}
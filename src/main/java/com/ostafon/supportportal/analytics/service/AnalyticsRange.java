@@ -0,0 +1,79 @@
+package com.ostafon.supportportal.analytics.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Resolved analytics time range
+ * start is inclusive, end is exclusive; both carry the zone used for bucketing.
+ * Ticket timestamps are stored as local date-times in storageZone.
+ * @param label period name or CUSTOM
+ * @param start range start in reporting zone
+ * @param end range end (exclusive) in reporting zone
+ * @param storageZone zone of stored timestamps
+ */
+public record AnalyticsRange(String label, ZonedDateTime start, ZonedDateTime end, ZoneId storageZone) {
+
+    public static final String CUSTOM = "CUSTOM";
+
+    public ZoneId zone() {
+        return start.getZone();
+    }
+
+    /**
+     * Inclusive start as stored timestamp
+     */
+    public LocalDateTime storageStart() {
+        return start.withZoneSameInstant(storageZone).toLocalDateTime();
+    }
+
+    /**
+     * Inclusive end as stored timestamp (for BETWEEN queries)
+     */
+    public LocalDateTime storageEnd() {
+        return end.withZoneSameInstant(storageZone).toLocalDateTime().minusNanos(1_000);
+    }
+
+    /**
+     * Inclusive start in UTC (rollup buckets)
+     */
+    public LocalDateTime utcStart() {
+        return start.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    /**
+     * Exclusive end in UTC (rollup buckets)
+     */
+    public LocalDateTime utcEnd() {
+        return end.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    public LocalDate firstDay() {
+        return start.toLocalDate();
+    }
+
+    public LocalDate lastDay() {
+        return end.minusNanos(1).toLocalDate();
+    }
+
+    /**
+     * Convert stored timestamp into the reporting zone
+     * @param stored timestamp as stored in DB
+     * @return zoned date-time in reporting zone
+     */
+    public ZonedDateTime toZone(LocalDateTime stored) {
+        return stored.atZone(storageZone).withZoneSameInstant(zone());
+    }
+
+    /**
+     * Convert UTC rollup bucket into the reporting zone
+     * @param utc UTC bucket start
+     * @return zoned date-time in reporting zone
+     */
+    public ZonedDateTime utcToZone(LocalDateTime utc) {
+        return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone());
+    }
+}
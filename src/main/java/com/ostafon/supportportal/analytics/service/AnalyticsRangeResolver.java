@@ -0,0 +1,126 @@
+package com.ostafon.supportportal.analytics.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolves period names or explicit from/to dates into analytics ranges
+ * Periods are calendar periods of the requested time zone.
+ */
+@Component
+public class AnalyticsRangeResolver {
+
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    private final ZoneId storageZone;
+
+    public AnalyticsRangeResolver(@Value("${analytics.storage-zone:UTC}") String storageZone) {
+        this.storageZone = ZoneId.of(storageZone);
+    }
+
+    public ZoneId getStorageZone() {
+        return storageZone;
+    }
+
+    /**
+     * Resolve range
+     * @param period period (THIS_MONTH, LAST_MONTH, THIS_QUARTER, LAST_QUARTER), ignored if from/to set
+     * @param from first day (inclusive), optional
+     * @param to last day (inclusive), optional
+     * @param tz IANA time zone, defaults to storage zone
+     * @return resolved range
+     */
+    public AnalyticsRange resolve(String period, LocalDate from, LocalDate to, String tz) {
+        ZoneId zone = resolveZone(tz);
+
+        if (from != null || to != null) {
+            if (from == null || to == null) {
+                throw new IllegalArgumentException("Both 'from' and 'to' must be provided");
+            }
+            if (to.isBefore(from)) {
+                throw new IllegalArgumentException("'to' must not be before 'from'");
+            }
+            if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+                throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+            }
+            return range(AnalyticsRange.CUSTOM, from, to.plusDays(1), zone);
+        }
+
+        LocalDate today = LocalDate.now(zone);
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate quarterStart = quarterStart(today);
+
+        return switch (period) {
+            case "THIS_MONTH" -> untilNow(period, monthStart, zone);
+            case "LAST_MONTH" -> range(period, monthStart.minusMonths(1), monthStart, zone);
+            case "THIS_QUARTER" -> untilNow(period, quarterStart, zone);
+            case "LAST_QUARTER" -> range(period, quarterStart.minusMonths(3), quarterStart, zone);
+            default -> throw new IllegalArgumentException("Invalid period: " + period);
+        };
+    }
+
+    /**
+     * Resolve preset period in storage zone
+     * @param period period name
+     * @return resolved range
+     */
+    public AnalyticsRange resolve(String period) {
+        return resolve(period, null, null, null);
+    }
+
+    /**
+     * Get the range preceding the given one
+     * Month and quarter periods step back one full calendar period,
+     * custom ranges step back by their own length.
+     * @param range current range
+     * @return previous range
+     */
+    public AnalyticsRange previous(AnalyticsRange range) {
+        LocalDate first = range.firstDay();
+        ZoneId zone = range.zone();
+
+        return switch (range.label()) {
+            case "THIS_MONTH", "LAST_MONTH" -> range(range.label(), first.minusMonths(1), first, zone);
+            case "THIS_QUARTER", "LAST_QUARTER" -> range(range.label(), first.minusMonths(3), first, zone);
+            default -> {
+                long days = ChronoUnit.DAYS.between(first, range.lastDay()) + 1;
+                yield range(range.label(), first.minusDays(days), first, zone);
+            }
+        };
+    }
+
+    private AnalyticsRange range(String label, LocalDate from, LocalDate toExclusive, ZoneId zone) {
+        return new AnalyticsRange(label, from.atStartOfDay(zone), toExclusive.atStartOfDay(zone), storageZone);
+    }
+
+    private AnalyticsRange untilNow(String label, LocalDate from, ZoneId zone) {
+        return new AnalyticsRange(label, from.atStartOfDay(zone), ZonedDateTime.now(zone), storageZone);
+    }
+
+    private LocalDate quarterStart(LocalDate date) {
+        int firstMonthOfQuarter = ((date.getMonthValue() - 1) / 3) * 3 + 1;
+        return date.withMonth(firstMonthOfQuarter).withDayOfMonth(1);
+    }
+
+    /**
+     * Parse requested time zone
+     * @param tz IANA time zone, optional
+     * @return zone, storage zone if not set
+     */
+    public ZoneId resolveZone(String tz) {
+        if (tz == null || tz.isBlank()) {
+            return storageZone;
+        }
+        try {
+            return ZoneId.of(tz.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + tz);
+        }
+    }
+}
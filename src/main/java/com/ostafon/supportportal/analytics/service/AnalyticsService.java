@@ -1,17 +1,21 @@
 package com.ostafon.supportportal.analytics.service;
 
 import com.ostafon.supportportal.analytics.dto.*;
+import com.ostafon.supportportal.analytics.model.TicketHourlyStatsEntity;
 import com.ostafon.supportportal.common.enums.TicketPriority;
 import com.ostafon.supportportal.common.enums.TicketStatus;
 import com.ostafon.supportportal.common.enums.UserRole;
 import com.ostafon.supportportal.common.exception.ResourceNotFoundException;
 import com.ostafon.supportportal.common.utils.SecurityUtils;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
 import com.ostafon.supportportal.tickets.model.TicketEntity;
 import com.ostafon.supportportal.tickets.repo.TicketRepo;
 import com.ostafon.supportportal.users.model.UserEntity;
 import com.ostafon.supportportal.users.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -32,6 +37,11 @@ public class AnalyticsService {
 
     private final TicketRepo ticketRepo;
     private final UserRepo userRepo;
+    private final RequesterCohortEngine cohortEngine;
+    private final BacklogService backlogService;
+    private final TicketRollupService rollupService;
+    private final AnalyticsRangeResolver rangeResolver;
+    private final ObjectProvider<TicketFactStore> factStore;
 
     /**
      * Get ticket analytics for period
@@ -40,69 +50,44 @@ public class AnalyticsService {
      */
     @Transactional(readOnly = true)
     public TicketAnalyticsResponse getTicketAnalytics(String period) {
-        log.info("Fetching ticket analytics for period: {}", period);
-
-        LocalDateTime[] dates = getPeriodDates(period);
-        LocalDateTime startDate = dates[0];
-        LocalDateTime endDate = dates[1];
-
-        List<TicketEntity> tickets = ticketRepo.findAllByCreatedAtBetween(startDate, endDate);
+        return getTicketAnalytics(rangeResolver.resolve(period));
+    }
 
-        // Calculate metrics
-        long totalCreated = tickets.size();
-        long totalResolved = tickets.stream().filter(t -> t.getStatus() == TicketStatus.RESOLVED).count();
-        long totalClosed = tickets.stream().filter(t -> t.getStatus() == TicketStatus.CLOSED).count();
-        double resolutionRate = totalCreated > 0 ? ((double) (totalResolved + totalClosed) / totalCreated) * 100 : 0.0;
+    /**
+     * Get ticket analytics for range
+     * Peak days and hours are bucketed in the range's time zone
+     * @param range resolved range
+     * @return ticket analytics
+     */
+    @Transactional(readOnly = true)
+    public TicketAnalyticsResponse getTicketAnalytics(AnalyticsRange range) {
+        log.info("Fetching ticket analytics for {} - {} ({})", range.firstDay(), range.lastDay(), range.zone());
 
-        // Average resolution time
-        List<TicketEntity> resolvedTickets = tickets.stream()
-                .filter(t -> (t.getStatus() == TicketStatus.RESOLVED || t.getStatus() == TicketStatus.CLOSED) && t.getClosedAt() != null)
-                .collect(Collectors.toList());
+        LocalDateTime startDate = range.storageStart();
+        LocalDateTime endDate = range.storageEnd();
 
-        double avgResolutionTime = 0;
-        double medianResolutionTime = 0;
-        if (!resolvedTickets.isEmpty()) {
-            List<Long> resolutionTimes = resolvedTickets.stream()
-                    .map(t -> Duration.between(t.getCreatedAt(), t.getClosedAt()).toHours())
-                    .collect(Collectors.toList());
-            avgResolutionTime = resolutionTimes.stream().mapToLong(Long::longValue).average().orElse(0);
+        List<TicketEntity> tickets = ticketRepo.findAllByCreatedAtBetween(startDate, endDate);
 
-            resolutionTimes.sort(Long::compareTo);
-            medianResolutionTime = resolutionTimes.get(resolutionTimes.size() / 2);
-        }
+        // All per-ticket metrics in one pass
+        TicketStatsAccumulator stats = TicketStatsAccumulator.of(tickets);
 
-        // Distribution by status
-        Map<String, Long> statusDistribution = new HashMap<>();
-        statusDistribution.put("NEW", tickets.stream().filter(t -> t.getStatus() == TicketStatus.NEW).count());
-        statusDistribution.put("IN_PROGRESS", tickets.stream().filter(t -> t.getStatus() == TicketStatus.IN_PROGRESS).count());
-        statusDistribution.put("RESOLVED", totalResolved);
-        statusDistribution.put("CLOSED", totalClosed);
-
-        // Distribution by priority
-        Map<String, Long> priorityDistribution = new HashMap<>();
-        priorityDistribution.put("LOW", tickets.stream().filter(t -> t.getPriority() == TicketPriority.LOW).count());
-        priorityDistribution.put("MEDIUM", tickets.stream().filter(t -> t.getPriority() == TicketPriority.MEDIUM).count());
-        priorityDistribution.put("HIGH", tickets.stream().filter(t -> t.getPriority() == TicketPriority.HIGH).count());
-        priorityDistribution.put("CRITICAL", tickets.stream().filter(t -> t.getPriority() == TicketPriority.CRITICAL).count());
-
-        // Peak days
+        // Peak days and hours in requested zone, from hourly rollups
         Map<String, Long> dayCount = new HashMap<>();
-        tickets.forEach(t -> {
-            String day = t.getCreatedAt().getDayOfWeek().toString();
-            dayCount.put(day, dayCount.getOrDefault(day, 0L) + 1);
-        });
+        Map<Integer, Long> hourCount = new HashMap<>();
+        for (TicketHourlyStatsEntity bucket : rollupService.getHourlyStats(range)) {
+            if (bucket.getCreatedCount() <= 0) {
+                continue;
+            }
+            ZonedDateTime local = range.utcToZone(bucket.getBucketStart());
+            dayCount.merge(local.getDayOfWeek().toString(), bucket.getCreatedCount(), Long::sum);
+            hourCount.merge(local.getHour(), bucket.getCreatedCount(), Long::sum);
+        }
         List<String> peakDays = dayCount.entrySet().stream()
                 .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
                 .limit(2)
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
 
-        // Peak hours
-        Map<Integer, Long> hourCount = new HashMap<>();
-        tickets.forEach(t -> {
-            int hour = t.getCreatedAt().getHour();
-            hourCount.put(hour, hourCount.getOrDefault(hour, 0L) + 1);
-        });
         List<Integer> peakHours = hourCount.entrySet().stream()
                 .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
                 .limit(3)
@@ -110,22 +95,23 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
 
         TicketAnalyticsResponse.TicketMetrics metrics = TicketAnalyticsResponse.TicketMetrics.builder()
-                .totalCreated(totalCreated)
-                .totalResolved(totalResolved)
-                .totalClosed(totalClosed)
-                .resolutionRate(resolutionRate)
-                .avgResolutionTimeHours(avgResolutionTime)
-                .medianResolutionTimeHours(medianResolutionTime)
-                .avgFirstResponseTimeMinutes(0.0) // TODO: implement when messages are ready
+                .totalCreated(stats.total())
+                .totalResolved(stats.count(TicketStatus.RESOLVED))
+                .totalClosed(stats.count(TicketStatus.CLOSED))
+                .resolutionRate(stats.resolutionRate())
+                .avgResolutionTimeHours(stats.avgResolutionHours())
+                .medianResolutionTimeHours(stats.medianResolutionHours())
+                .avgFirstResponseTimeMinutes(stats.avgFirstResponseMinutes())
                 .build();
 
         return TicketAnalyticsResponse.builder()
-                .period(period)
-                .startDate(startDate.toLocalDate().toString())
-                .endDate(endDate.toLocalDate().toString())
+                .period(range.label())
+                .startDate(range.firstDay().toString())
+                .endDate(range.lastDay().toString())
+                .timezone(range.zone().getId())
                 .ticketMetrics(metrics)
-                .distributionByStatus(statusDistribution)
-                .distributionByPriority(priorityDistribution)
+                .distributionByStatus(stats.statusDistribution())
+                .distributionByPriority(stats.priorityDistribution())
                 .peakDays(peakDays)
                 .peakHours(peakHours)
                 .build();
@@ -138,14 +124,23 @@ public class AnalyticsService {
      */
     @Transactional(readOnly = true)
     public EngineerAnalyticsResponse getEngineerAnalytics(String period) {
-        log.info("Fetching engineer analytics for period: {}", period);
+        return getEngineerAnalytics(rangeResolver.resolve(period));
+    }
+
+    /**
+     * Get engineer analytics for range
+     * @param range resolved range
+     * @return engineer analytics
+     */
+    @Transactional(readOnly = true)
+    public EngineerAnalyticsResponse getEngineerAnalytics(AnalyticsRange range) {
+        log.info("Fetching engineer analytics for {} - {} ({})", range.firstDay(), range.lastDay(), range.zone());
 
         Long currentUserId = SecurityUtils.getCurrentUserId();
         boolean isAdmin = SecurityUtils.hasRole("ADMIN");
 
-        LocalDateTime[] dates = getPeriodDates(period);
-        LocalDateTime startDate = dates[0];
-        LocalDateTime endDate = dates[1];
+        LocalDateTime startDate = range.storageStart();
+        LocalDateTime endDate = range.storageEnd();
 
         List<UserEntity> engineers;
         if (isAdmin) {
@@ -173,7 +168,10 @@ public class AnalyticsService {
         }
 
         return EngineerAnalyticsResponse.builder()
-                .period(period)
+                .period(range.label())
+                .startDate(range.firstDay().toString())
+                .endDate(range.lastDay().toString())
+                .timezone(range.zone().getId())
                 .engineers(engineerMetrics)
                 .build();
     }
@@ -185,23 +183,34 @@ public class AnalyticsService {
      */
     @Transactional(readOnly = true)
     public UserAnalyticsResponse getUserAnalytics(String period) {
-        log.info("Fetching user analytics for period: {}", period);
+        return getUserAnalytics(rangeResolver.resolve(period));
+    }
+
+    /**
+     * Get user analytics for range
+     * Retention is measured against the preceding range of the same length
+     * @param range resolved range
+     * @return user analytics
+     */
+    @Transactional(readOnly = true)
+    public UserAnalyticsResponse getUserAnalytics(AnalyticsRange range) {
+        log.info("Fetching user analytics for {} - {} ({})", range.firstDay(), range.lastDay(), range.zone());
 
-        LocalDateTime[] dates = getPeriodDates(period);
-        LocalDateTime startDate = dates[0];
-        LocalDateTime endDate = dates[1];
+        LocalDateTime startDate = range.storageStart();
+        LocalDateTime endDate = range.storageEnd();
 
         // Get previous period for retention calculation
-        LocalDateTime[] prevDates = getPreviousPeriodDates(period);
-        LocalDateTime prevStartDate = prevDates[0];
-        LocalDateTime prevEndDate = prevDates[1];
+        AnalyticsRange previous = rangeResolver.previous(range);
+        LocalDateTime prevStartDate = previous.storageStart();
+        LocalDateTime prevEndDate = previous.storageEnd();
 
         long newUsersCount = userRepo.countByCreatedAtBetween(startDate, endDate);
+        long registeredUsersCount = userRepo.countByCreatedAtBefore(endDate);
 
-        List<UserEntity> allUsersInPeriod = userRepo.findByCreatedAtBefore(endDate);
-        List<UserEntity> activeUsersThisPeriod = userRepo.findByCreatedAtBefore(endDate);
+        Roaring64NavigableMap usersThisPeriod = cohortEngine.activeRequesters(startDate, endDate);
+        Roaring64NavigableMap usersLastPeriod = cohortEngine.activeRequesters(prevStartDate, prevEndDate);
 
-        long totalUsersWithTickets = ticketRepo.countDistinctRequesterIds(startDate, endDate);
+        long totalUsersWithTickets = usersThisPeriod.getLongCardinality();
         long avgTicketsPerUser = totalUsersWithTickets > 0 ? ticketRepo.count() / totalUsersWithTickets : 0;
 
         // Users with 5+ tickets
@@ -209,15 +218,17 @@ public class AnalyticsService {
         long usersWithMultiple = userTicketCounts.stream().filter(count -> count >= 5).count();
 
         // Retention rate (users who had tickets in both periods)
-        List<Long> usersLastPeriod = ticketRepo.findDistinctRequesterIds(prevStartDate, prevEndDate);
-        List<Long> usersThisPeriod = ticketRepo.findDistinctRequesterIds(startDate, endDate);
-        long retainedUsers = usersThisPeriod.stream().filter(usersLastPeriod::contains).count();
-        double retentionRate = !usersLastPeriod.isEmpty() ? ((double) retainedUsers / usersLastPeriod.size()) * 100 : 0;
+        long retainedUsers = cohortEngine.intersectionCount(usersThisPeriod, usersLastPeriod);
+        long lastPeriodUsers = usersLastPeriod.getLongCardinality();
+        double retentionRate = lastPeriodUsers > 0 ? ((double) retainedUsers / lastPeriodUsers) * 100 : 0;
 
         return UserAnalyticsResponse.builder()
-                .period(period)
+                .period(range.label())
+                .startDate(range.firstDay().toString())
+                .endDate(range.lastDay().toString())
+                .timezone(range.zone().getId())
                 .newUsersCount(newUsersCount)
-                .activeUsersCount(activeUsersThisPeriod.size())
+                .activeUsersCount(registeredUsersCount)
                 .totalUsersWithTickets(totalUsersWithTickets)
                 .avgTicketsPerUser((double) avgTicketsPerUser)
                 .usersWithMultipleTickets(usersWithMultiple)
@@ -225,32 +236,96 @@ public class AnalyticsService {
                 .build();
     }
 
+    /**
+     * Get cohort matrix of requester retention
+     * Rows are registration months, columns are months since registration
+     * @param months number of cohorts (months back, including current)
+     * @return cohort matrix
+     */
+    @Transactional(readOnly = true)
+    public CohortMatrixResponse getCohortMatrix(int months) {
+        log.info("Fetching cohort matrix for last {} months", months);
+
+        if (months < 1 || months > 24) {
+            throw new IllegalArgumentException("Months must be between 1 and 24");
+        }
+
+        YearMonth lastMonth = YearMonth.now();
+        YearMonth firstMonth = lastMonth.minusMonths(months - 1L);
+
+        // Activity bitmaps are shared by all cohorts, load each month once
+        List<Roaring64NavigableMap> activity = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            activity.add(cohortEngine.activeRequesters(month));
+        }
+
+        List<CohortMatrixResponse.CohortRow> rows = new ArrayList<>();
+        int cohortIndex = 0;
+        for (YearMonth cohort = firstMonth; !cohort.isAfter(lastMonth); cohort = cohort.plusMonths(1), cohortIndex++) {
+            Roaring64NavigableMap members = cohortEngine.registeredUsers(cohort);
+            long size = members.getLongCardinality();
+
+            List<Long> activeUsers = new ArrayList<>();
+            List<Double> retentionRates = new ArrayList<>();
+            for (int i = cohortIndex; i < activity.size(); i++) {
+                long active = cohortEngine.intersectionCount(members, activity.get(i));
+                activeUsers.add(active);
+                retentionRates.add(size > 0 ? ((double) active / size) * 100 : 0.0);
+            }
+
+            rows.add(CohortMatrixResponse.CohortRow.builder()
+                    .cohort(cohort.toString())
+                    .size(size)
+                    .activeUsers(activeUsers)
+                    .retentionRates(retentionRates)
+                    .build());
+        }
+
+        return CohortMatrixResponse.builder()
+                .fromMonth(firstMonth.toString())
+                .toMonth(lastMonth.toString())
+                .cohorts(rows)
+                .build();
+    }
+
     /**
      * Get trend analytics
-     * @param metric metric type (TICKETS, RESOLUTION_TIME, ENGINEER_LOAD)
+     * @param metric metric type (TICKETS, RESOLUTION_TIME, ENGINEER_LOAD, BACKLOG)
      * @param period period
      * @return trend data
      */
     @Transactional(readOnly = true)
     public TrendAnalyticsResponse getTrends(String metric, String period) {
-        log.info("Fetching trend analytics for metric: {}, period: {}", metric, period);
+        return getTrends(metric, rangeResolver.resolve(period));
+    }
 
-        LocalDateTime[] dates = getPeriodDates(period);
-        LocalDateTime startDate = dates[0];
-        LocalDateTime endDate = dates[1];
+    /**
+     * Get trend analytics for range
+     * Days are calendar days of the range's time zone
+     * @param metric metric type (TICKETS, RESOLUTION_TIME, ENGINEER_LOAD, BACKLOG)
+     * @param range resolved range
+     * @return trend data
+     */
+    @Transactional(readOnly = true)
+    public TrendAnalyticsResponse getTrends(String metric, AnalyticsRange range) {
+        log.info("Fetching trend analytics for metric: {}, {} - {} ({})",
+                metric, range.firstDay(), range.lastDay(), range.zone());
 
         List<TrendAnalyticsResponse.TrendDataPoint> data = new ArrayList<>();
 
         if ("TICKETS".equals(metric)) {
-            data = calculateTicketsTrend(startDate, endDate);
+            data = calculateTicketsTrend(range);
         } else if ("RESOLUTION_TIME".equals(metric)) {
-            data = calculateResolutionTimeTrend(startDate, endDate);
+            data = calculateResolutionTimeTrend(range);
         } else if ("ENGINEER_LOAD".equals(metric)) {
-            data = calculateEngineerLoadTrend(startDate, endDate);
+            data = calculateEngineerLoadTrend(range.firstDay(), range.lastDay());
+        } else if ("BACKLOG".equals(metric)) {
+            data = calculateBacklogTrend(range.firstDay(), range.lastDay());
         }
 
         return TrendAnalyticsResponse.builder()
-                .period(period)
+                .period(range.label())
+                .timezone(range.zone().getId())
                 .metric(metric)
                 .data(data)
                 .build();
@@ -264,10 +339,22 @@ public class AnalyticsService {
      */
     @Transactional(readOnly = true)
     public ComparisonAnalyticsResponse compareAnalytics(String period1, String period2) {
-        log.info("Comparing analytics for periods: {} vs {}", period1, period2);
+        return compareAnalytics(period1, period2, null);
+    }
 
-        TicketAnalyticsResponse stats1 = getTicketAnalytics(period1);
-        TicketAnalyticsResponse stats2 = getTicketAnalytics(period2);
+    /**
+     * Compare two periods in time zone
+     * @param period1 first period
+     * @param period2 second period
+     * @param tz IANA time zone, defaults to storage zone
+     * @return comparison data
+     */
+    @Transactional(readOnly = true)
+    public ComparisonAnalyticsResponse compareAnalytics(String period1, String period2, String tz) {
+        log.info("Comparing analytics for periods: {} vs {} ({})", period1, period2, tz);
+
+        TicketAnalyticsResponse stats1 = getTicketAnalytics(rangeResolver.resolve(period1, null, null, tz));
+        TicketAnalyticsResponse stats2 = getTicketAnalytics(rangeResolver.resolve(period2, null, null, tz));
 
         Map<String, ComparisonAnalyticsResponse.ComparisonMetric> comparison = new HashMap<>();
 
@@ -317,70 +404,76 @@ public class AnalyticsService {
                 .build();
     }
 
+    /**
+     * Get ad-hoc ticket slice (filter + group by)
+     * Served from the in-memory fact store when enabled and loaded,
+     * otherwise computed from ticket entities. Not transactional on purpose:
+     * the fact store path must not take a database connection.
+     * @param query filter and group-by
+     * @return slice rows ordered by ticket count
+     */
+    public TicketSliceResponse getSlice(TicketSliceQuery query) {
+        AnalyticsRange range = query.range();
+        log.info("Fetching ticket slice by {} for {} - {} ({})",
+                query.groupBy(), range.firstDay(), range.lastDay(), range.zone());
+
+        TicketFactStore store = factStore.getIfAvailable();
+        boolean fromStore = store != null && store.isReady();
+        Map<String, long[]> groups = fromStore ? store.slice(query) : sliceFromDatabase(query);
+
+        List<TicketSliceResponse.SliceRow> rows = groups.entrySet().stream()
+                .map(e -> TicketSliceResponse.SliceRow.builder()
+                        .key(e.getKey())
+                        .count(e.getValue()[0])
+                        .resolved(e.getValue()[1])
+                        .avgResolutionTimeHours(e.getValue()[1] > 0 ? (double) e.getValue()[2] / e.getValue()[1] : 0)
+                        .build())
+                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
+                .collect(Collectors.toList());
+
+        return TicketSliceResponse.builder()
+                .startDate(range.firstDay().toString())
+                .endDate(range.lastDay().toString())
+                .timezone(range.zone().getId())
+                .groupBy(query.groupBy().name())
+                .source(fromStore ? "FACT_STORE" : "DATABASE")
+                .totalTickets(rows.stream().mapToLong(TicketSliceResponse.SliceRow::getCount).sum())
+                .rows(rows)
+                .build();
+    }
+
     // ==================== Helper Methods ====================
 
-    private LocalDateTime[] getPeriodDates(String period) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDate today = now.toLocalDate();
+    private Map<String, long[]> sliceFromDatabase(TicketSliceQuery query) {
+        List<TicketEntity> tickets = ticketRepo.findAllByCreatedAtBetween(
+                query.range().storageStart(), query.range().storageEnd());
+
+        Map<String, long[]> groups = new LinkedHashMap<>();
+        for (TicketEntity t : tickets) {
+            Long assigneeId = t.getAssignee() != null ? t.getAssignee().getId() : null;
+            Long groupId = t.getGroup() != null ? t.getGroup().getId() : null;
+            if (!query.includes(t.getStatus()) || !query.includes(t.getPriority())
+                    || (query.assigneeId() != null && !query.assigneeId().equals(assigneeId))
+                    || (query.groupId() != null && !query.groupId().equals(groupId))) {
+                continue;
+            }
 
-        return switch (period) {
-            case "THIS_MONTH" -> new LocalDateTime[]{
-                    today.withDayOfMonth(1).atStartOfDay(),
-                    now
+            String key = switch (query.groupBy()) {
+                case STATUS -> t.getStatus().name();
+                case PRIORITY -> t.getPriority().name();
+                case ASSIGNEE -> assigneeId != null ? assigneeId.toString() : "NONE";
+                case GROUP -> groupId != null ? groupId.toString() : "NONE";
+                case NONE -> "ALL";
             };
-            case "LAST_MONTH" -> {
-                YearMonth lastMonth = YearMonth.now().minusMonths(1);
-                yield new LocalDateTime[]{
-                        lastMonth.atDay(1).atStartOfDay(),
-                        lastMonth.atEndOfMonth().atTime(23, 59, 59)
-                };
-            }
-            case "THIS_QUARTER" -> {
-                int month = today.getMonthValue();
-                int quarterStart = ((month - 1) / 3) * 3 + 1;
-                LocalDate quarterStartDate = today.withMonth(quarterStart).withDayOfMonth(1);
-                yield new LocalDateTime[]{
-                        quarterStartDate.atStartOfDay(),
-                        now
-                };
-            }
-            case "LAST_QUARTER" -> {
-                int month = today.getMonthValue();
-                int lastQuarterStart = ((month - 1) / 3 - 1) * 3 + 1;
-                LocalDate quarterStartDate = today.withMonth(lastQuarterStart).withDayOfMonth(1);
-                LocalDate quarterEndDate = quarterStartDate.plusMonths(3).minusDays(1);
-                yield new LocalDateTime[]{
-                        quarterStartDate.atStartOfDay(),
-                        quarterEndDate.atTime(23, 59, 59)
-                };
-            }
-            default -> throw new IllegalArgumentException("Invalid period: " + period);
-        };
-    }
 
-    private LocalDateTime[] getPreviousPeriodDates(String period) {
-        return switch (period) {
-            case "THIS_MONTH" -> getPeriodDates("LAST_MONTH");
-            case "LAST_MONTH" -> {
-                YearMonth lastMonth = YearMonth.now().minusMonths(2);
-                yield new LocalDateTime[]{
-                        lastMonth.atDay(1).atStartOfDay(),
-                        lastMonth.atEndOfMonth().atTime(23, 59, 59)
-                };
-            }
-            case "THIS_QUARTER" -> getPeriodDates("LAST_QUARTER");
-            case "LAST_QUARTER" -> {
-                int month = LocalDate.now().getMonthValue();
-                int twoQuartersAgoStart = ((month - 1) / 3 - 2) * 3 + 1;
-                LocalDate quarterStartDate = LocalDate.now().withMonth(twoQuartersAgoStart).withDayOfMonth(1);
-                LocalDate quarterEndDate = quarterStartDate.plusMonths(3).minusDays(1);
-                yield new LocalDateTime[]{
-                        quarterStartDate.atStartOfDay(),
-                        quarterEndDate.atTime(23, 59, 59)
-                };
+            long[] totals = groups.computeIfAbsent(key, k -> new long[3]);
+            totals[0]++;
+            if (t.getClosedAt() != null && TicketStatusChangedEvent.isResolved(t.getStatus())) {
+                totals[1]++;
+                totals[2] += Duration.between(t.getCreatedAt(), t.getClosedAt()).toHours();
             }
-            default -> throw new IllegalArgumentException("Invalid period: " + period);
-        };
+        }
+        return groups;
     }
 
     private EngineerAnalyticsResponse.EngineerMetrics calculateEngineerMetrics(
@@ -390,131 +483,85 @@ public class AnalyticsService {
                 engineer.getId(), startDate, endDate
         );
 
-        long totalTickets = assignedTickets.size();
-        long resolvedTickets = assignedTickets.stream().filter(t -> t.getStatus() == TicketStatus.RESOLVED).count();
-        long closedTickets = assignedTickets.stream().filter(t -> t.getStatus() == TicketStatus.CLOSED).count();
-        double resolutionRate = totalTickets > 0 ? ((double) (resolvedTickets + closedTickets) / totalTickets) * 100 : 0.0;
-
-        double avgResolutionTime = 0;
-        if (!assignedTickets.isEmpty()) {
-            List<TicketEntity> resolvedList = assignedTickets.stream()
-                    .filter(t -> t.getClosedAt() != null && (t.getStatus() == TicketStatus.RESOLVED || t.getStatus() == TicketStatus.CLOSED))
-                    .collect(Collectors.toList());
-            if (!resolvedList.isEmpty()) {
-                avgResolutionTime = resolvedList.stream()
-                        .mapToLong(t -> Duration.between(t.getCreatedAt(), t.getClosedAt()).toHours())
-                        .average()
-                        .orElse(0);
-            }
-        }
-
-        long highPriorityCount = assignedTickets.stream().filter(t -> t.getPriority() == TicketPriority.HIGH).count();
-        long criticalCount = assignedTickets.stream().filter(t -> t.getPriority() == TicketPriority.CRITICAL).count();
+        TicketStatsAccumulator stats = TicketStatsAccumulator.of(assignedTickets);
 
         return EngineerAnalyticsResponse.EngineerMetrics.builder()
                 .engineerId(engineer.getId())
                 .engineerName(engineer.getFirstName() + " " + engineer.getLastName())
                 .engineerEmail(engineer.getEmail())
-                .totalTickets(totalTickets)
-                .resolvedTickets(resolvedTickets)
-                .closedTickets(closedTickets)
-                .resolutionRate(resolutionRate)
-                .avgResolutionTimeHours(avgResolutionTime)
-                .avgFirstResponseTimeMinutes(0.0) // TODO: when messages ready
-                .highPriorityCount(highPriorityCount)
-                .criticalPriorityCount(criticalCount)
+                .totalTickets(stats.total())
+                .resolvedTickets(stats.count(TicketStatus.RESOLVED))
+                .closedTickets(stats.count(TicketStatus.CLOSED))
+                .resolutionRate(stats.resolutionRate())
+                .avgResolutionTimeHours(stats.avgResolutionHours())
+                .avgFirstResponseTimeMinutes(stats.avgFirstResponseMinutes())
+                .highPriorityCount(stats.count(TicketPriority.HIGH))
+                .criticalPriorityCount(stats.count(TicketPriority.CRITICAL))
                 .isActive(engineer.getIsActive())
                 .build();
     }
 
-    private List<TrendAnalyticsResponse.TrendDataPoint> calculateTicketsTrend(
-            LocalDateTime startDate, LocalDateTime endDate) {
+    private List<TrendAnalyticsResponse.TrendDataPoint> calculateTicketsTrend(AnalyticsRange range) {
         List<TrendAnalyticsResponse.TrendDataPoint> data = new ArrayList<>();
 
-        LocalDate current = startDate.toLocalDate();
-        LocalDate end = endDate.toLocalDate();
-
-        while (!current.isAfter(end)) {
-            LocalDateTime dayStart = current.atStartOfDay();
-            LocalDateTime dayEnd = current.atTime(23, 59, 59);
-
-            long count = ticketRepo.countByCreatedAtBetween(dayStart, dayEnd);
-
-            data.add(TrendAnalyticsResponse.TrendDataPoint.builder()
-                    .date(current.toString())
-                    .value((double) count)
-                    .label(count + " tickets")
-                    .build());
-
-            current = current.plusDays(1);
-        }
+        rollupService.getDailyStats(range).forEach((day, stats) -> data.add(
+                TrendAnalyticsResponse.TrendDataPoint.builder()
+                        .date(day.toString())
+                        .value((double) stats.created())
+                        .label(stats.created() + " tickets")
+                        .build()));
 
         return data;
     }
 
-    private List<TrendAnalyticsResponse.TrendDataPoint> calculateResolutionTimeTrend(
-            LocalDateTime startDate, LocalDateTime endDate) {
+    private List<TrendAnalyticsResponse.TrendDataPoint> calculateResolutionTimeTrend(AnalyticsRange range) {
         List<TrendAnalyticsResponse.TrendDataPoint> data = new ArrayList<>();
 
-        LocalDate current = startDate.toLocalDate();
-        LocalDate end = endDate.toLocalDate();
-
-        while (!current.isAfter(end)) {
-            LocalDateTime dayStart = current.atStartOfDay();
-            LocalDateTime dayEnd = current.atTime(23, 59, 59);
-
-            List<TicketEntity> resolvedToday = ticketRepo.findAllByStatusInAndClosedAtBetween(
-                    List.of(TicketStatus.RESOLVED, TicketStatus.CLOSED),
-                    dayStart, dayEnd
-            );
-
-            double avgTime = 0;
-            if (!resolvedToday.isEmpty()) {
-                avgTime = resolvedToday.stream()
-                        .mapToLong(t -> Duration.between(t.getCreatedAt(), t.getClosedAt()).toHours())
-                        .average()
-                        .orElse(0);
-            }
-
+        rollupService.getDailyStats(range).forEach((day, stats) -> {
+            double avgTime = stats.avgResolutionHours();
             data.add(TrendAnalyticsResponse.TrendDataPoint.builder()
-                    .date(current.toString())
+                    .date(day.toString())
                     .value(avgTime)
                     .label(String.format("%.1f hours", avgTime))
                     .build());
-
-            current = current.plusDays(1);
-        }
+        });
 
         return data;
     }
 
     private List<TrendAnalyticsResponse.TrendDataPoint> calculateEngineerLoadTrend(
-            LocalDateTime startDate, LocalDateTime endDate) {
+            LocalDate firstDay, LocalDate lastDay) {
         List<TrendAnalyticsResponse.TrendDataPoint> data = new ArrayList<>();
 
-        LocalDate current = startDate.toLocalDate();
-        LocalDate end = endDate.toLocalDate();
-
-        while (!current.isAfter(end)) {
-            LocalDateTime dayStart = current.atStartOfDay();
-            LocalDateTime dayEnd = current.atTime(23, 59, 59);
+        Map<LocalDate, Long> openByDay = backlogService.getOpenTicketsByDay(firstDay, lastDay);
 
-            long activeTickets = ticketRepo.countByStatusNotInAndCreatedAtBefore(
-                    List.of(TicketStatus.RESOLVED, TicketStatus.CLOSED),
-                    dayEnd
-            );
+        // Engineer roster has no history, current active engineers are used for every day
+        long activeEngineers = userRepo.countByRoleAndIsActive(UserRole.ENGINEER, true);
 
-            List<UserEntity> activeEngineers = userRepo.findByRoleAndIsActive(UserRole.ENGINEER, true);
-            double avgLoad = !activeEngineers.isEmpty() ? (double) activeTickets / activeEngineers.size() : 0;
+        openByDay.forEach((day, openTickets) -> {
+            double avgLoad = activeEngineers > 0 ? (double) openTickets / activeEngineers : 0;
 
             data.add(TrendAnalyticsResponse.TrendDataPoint.builder()
-                    .date(current.toString())
+                    .date(day.toString())
                     .value(avgLoad)
                     .label(String.format("%.1f tickets/engineer", avgLoad))
                     .build());
+        });
 
-            current = current.plusDays(1);
-        }
+        return data;
+    }
+
+    private List<TrendAnalyticsResponse.TrendDataPoint> calculateBacklogTrend(
+            LocalDate firstDay, LocalDate lastDay) {
+        List<TrendAnalyticsResponse.TrendDataPoint> data = new ArrayList<>();
+
+        // Backlog deltas are kept per storage-zone day
+        backlogService.getOpenTicketsByDay(firstDay, lastDay)
+                .forEach((day, openTickets) -> data.add(TrendAnalyticsResponse.TrendDataPoint.builder()
+                        .date(day.toString())
+                        .value((double) openTickets)
+                        .label(openTickets + " open tickets")
+                        .build()));
 
         return data;
     }
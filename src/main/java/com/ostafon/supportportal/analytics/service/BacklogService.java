@@ -0,0 +1,99 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.analytics.model.TicketBacklogDailyEntity;
+import com.ostafon.supportportal.analytics.model.TicketStatusEventEntity;
+import com.ostafon.supportportal.analytics.repo.TicketBacklogDailyRepo;
+import com.ostafon.supportportal.analytics.repo.TicketStatusEventRepo;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Event-sourced open ticket backlog
+ * Every status transition is appended to the event log and folded into a
+ * per-day delta, so the backlog of any past day is a prefix sum.
+ * The daily delta is a shared hot row, so it is updated only after the ticket
+ * transaction commits and never holds that transaction up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BacklogService {
+
+    private final TicketStatusEventRepo eventRepo;
+    private final TicketBacklogDailyRepo dailyRepo;
+
+    /**
+     * Record status transition
+     * Runs in the publisher's transaction so the log never diverges from tickets;
+     * the insert is append-only and takes no shared locks
+     * @param event status change event
+     */
+    @EventListener
+    public void onStatusChanged(TicketStatusChangedEvent event) {
+        if (event.oldStatus() == event.newStatus()) {
+            return;
+        }
+
+        eventRepo.save(TicketStatusEventEntity.builder()
+                .ticketId(event.ticketId())
+                .oldStatus(event.oldStatus())
+                .newStatus(event.newStatus())
+                .openDelta(event.openDelta())
+                .occurredAt(event.occurredAt())
+                .build());
+
+        log.debug("Ticket {} status event {} -> {} (delta {})",
+                event.ticketId(), event.oldStatus(), event.newStatus(), event.openDelta());
+    }
+
+    /**
+     * Fold committed transition into its day's delta
+     * @param event status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void foldDailyDelta(TicketStatusChangedEvent event) {
+        int delta = event.openDelta();
+        if (event.oldStatus() != event.newStatus() && delta != 0) {
+            dailyRepo.addDelta(event.occurredAt().toLocalDate(), delta);
+        }
+    }
+
+    /**
+     * Get open ticket count at the end of each day in range
+     * @param from first day
+     * @param to last day
+     * @return ordered map day -> open tickets
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Long> getOpenTicketsByDay(LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> series = new LinkedHashMap<>();
+        if (to.isBefore(from)) {
+            return series;
+        }
+
+        long[] deltas = new long[(int) ChronoUnit.DAYS.between(from, to) + 1];
+        for (TicketBacklogDailyEntity row : dailyRepo.findAllByStatDateBetweenOrderByStatDateAsc(from, to)) {
+            deltas[(int) ChronoUnit.DAYS.between(from, row.getStatDate())] = row.getOpenDelta();
+        }
+
+        long open = dailyRepo.sumDeltaBefore(from);
+        for (int i = 0; i < deltas.length; i++) {
+            open += deltas[i];
+            series.put(from.plusDays(i), open);
+        }
+
+        return series;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.analytics.dto.ForecastResponse;
+import com.ostafon.supportportal.tickets.repo.TicketRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly ticket volume forecasting per engineer group
+ * Keeps one Holt-Winters model per group (plus one for all tickets), fed with
+ * hourly created counts of every closed UTC day. Forecasts are recomputed only
+ * when a day is folded in, so requests just read the cached arrays.
+ */
+@Service
+@Slf4j
+public class ForecastService {
+
+    public static final int HORIZON_HOURS = 14 * 24;
+
+    private static final long ALL_TICKETS = -1L;
+    private static final long NO_GROUP = 0L;
+
+    private final TicketRepo ticketRepo;
+    private final AnalyticsRangeResolver rangeResolver;
+    private final int warmupWeeks;
+
+    // Guarded by this
+    private final Map<Long, HoltWintersModel> models = new HashMap<>();
+    private LocalDate trainedThrough; // UTC day, exclusive
+
+    private volatile Map<Long, CachedForecast> forecasts = Map.of();
+
+    public ForecastService(TicketRepo ticketRepo,
+                           AnalyticsRangeResolver rangeResolver,
+                           @Value("${analytics.forecast.warmup-weeks:8}") int warmupWeeks) {
+        this.ticketRepo = ticketRepo;
+        this.rangeResolver = rangeResolver;
+        this.warmupWeeks = Math.max(2, warmupWeeks);
+    }
+
+    /**
+     * Get cached forecast
+     * @param groupId engineer group ID, 0 for tickets without group, null for all tickets
+     * @param tz IANA time zone of returned timestamps
+     * @return forecast for next 14 days by hour
+     */
+    public ForecastResponse getForecast(Long groupId, String tz) {
+        ZoneId zone = rangeResolver.resolveZone(tz);
+        CachedForecast forecast = forecasts.get(groupId != null ? groupId : ALL_TICKETS);
+
+        if (forecast == null) {
+            return ForecastResponse.builder()
+                    .groupId(groupId)
+                    .timezone(zone.getId())
+                    .horizonHours(HORIZON_HOURS)
+                    .ready(false)
+                    .points(List.of())
+                    .build();
+        }
+
+        List<ForecastResponse.ForecastPoint> points = new ArrayList<>(HORIZON_HOURS);
+        for (int h = 0; h < HORIZON_HOURS; h++) {
+            points.add(ForecastResponse.ForecastPoint.builder()
+                    .time(forecast.firstHour().plusHours(h).atOffset(ZoneOffset.UTC)
+                            .atZoneSameInstant(zone).toOffsetDateTime().toString())
+                    .expected(forecast.values()[0][h])
+                    .lower(forecast.values()[1][h])
+                    .upper(forecast.values()[2][h])
+                    .build());
+        }
+
+        return ForecastResponse.builder()
+                .groupId(groupId)
+                .timezone(zone.getId())
+                .trainedThrough(forecast.firstHour().toInstant(ZoneOffset.UTC).toString())
+                .horizonHours(HORIZON_HOURS)
+                .ready(forecast.ready())
+                .points(points)
+                .build();
+    }
+
+    /**
+     * Train models on history at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        updateModels();
+    }
+
+    /**
+     * Fold closed UTC days into the models and refresh forecasts
+     * Catches up on all days missed since the last run
+     */
+    @Scheduled(cron = "${analytics.forecast.update-cron:0 10 0 * * *}", zone = "UTC")
+    public synchronized void updateModels() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate day = trainedThrough != null ? trainedThrough : today.minusWeeks(warmupWeeks);
+        if (!day.isBefore(today)) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        int days = 0;
+        for (; day.isBefore(today); day = day.plusDays(1), days++) {
+            foldDay(day);
+            // A failing day is retried on the next run without folding earlier days twice
+            trainedThrough = day.plusDays(1);
+        }
+
+        Map<Long, CachedForecast> refreshed = new HashMap<>();
+        LocalDateTime firstHour = today.atStartOfDay();
+        models.forEach((key, model) -> refreshed.put(key,
+                new CachedForecast(firstHour, model.forecast(HORIZON_HOURS), model.isReady())));
+        forecasts = Map.copyOf(refreshed);
+
+        log.info("Forecast models updated with {} day(s) for {} series in {} ms",
+                days, models.size(), System.currentTimeMillis() - started);
+    }
+
+    private void foldDay(LocalDate utcDay) {
+        ZoneId storageZone = rangeResolver.getStorageZone();
+        LocalDateTime from = utcDay.atStartOfDay(ZoneOffset.UTC).withZoneSameInstant(storageZone).toLocalDateTime();
+        LocalDateTime to = utcDay.plusDays(1).atStartOfDay(ZoneOffset.UTC).withZoneSameInstant(storageZone).toLocalDateTime();
+
+        // counts[hour] -> group -> tickets
+        List<Map<Long, Long>> counts = new ArrayList<>(24);
+        for (int i = 0; i < 24; i++) {
+            counts.add(new HashMap<>());
+        }
+        for (Object[] row : ticketRepo.countHourlyByGroup(from, to)) {
+            LocalDateTime storageHour = ((LocalDate) row[0]).atTime(((Number) row[1]).intValue(), 0);
+            LocalDateTime utcHour = storageHour.atZone(storageZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            int hour = (int) Duration.between(utcDay.atStartOfDay(), utcHour).toHours();
+            if (hour < 0 || hour >= 24) {
+                continue;
+            }
+            long groupId = row[2] != null ? ((Number) row[2]).longValue() : NO_GROUP;
+            long count = ((Number) row[3]).longValue();
+            counts.get(hour).merge(groupId, count, Long::sum);
+            counts.get(hour).merge(ALL_TICKETS, count, Long::sum);
+        }
+
+        for (int hour = 0; hour < 24; hour++) {
+            Map<Long, Long> hourCounts = counts.get(hour);
+            int position = hourOfWeek(utcDay, hour);
+
+            // Series start at their first ticket; the all-tickets series starts with training
+            for (Long key : hourCounts.keySet()) {
+                models.computeIfAbsent(key, k -> new HoltWintersModel(position));
+            }
+            models.computeIfAbsent(ALL_TICKETS, k -> new HoltWintersModel(position));
+
+            models.forEach((key, model) -> model.observe(hourCounts.getOrDefault(key, 0L)));
+        }
+    }
+
+    private int hourOfWeek(LocalDate day, int hour) {
+        return (day.getDayOfWeek().getValue() - 1) * 24 + hour;
+    }
+
+    private record CachedForecast(LocalDateTime firstHour, double[][] values, boolean ready) {
+    }
+}
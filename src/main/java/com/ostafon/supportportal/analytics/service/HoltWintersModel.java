@@ -0,0 +1,107 @@
+package com.ostafon.supportportal.analytics.service;
+
+/**
+ * Additive Holt-Winters model over hourly counts with a weekly season
+ * Fed one observation per hour in time order; the first season is buffered
+ * to initialise level and seasonal offsets. Not thread-safe.
+ */
+public class HoltWintersModel {
+
+    public static final int SEASON = 168; // hours per week
+
+    private static final double ALPHA = 0.2;  // level
+    private static final double BETA = 0.01;  // trend
+    private static final double GAMMA = 0.15; // season
+    private static final double ERROR_DECAY = 0.02;
+    private static final double Z_95 = 1.96;
+
+    private final double[] season = new double[SEASON];
+    private final double[] warmup = new double[SEASON];
+    private double level;
+    private double trend;
+    private double errorVariance;
+    private long observations;
+    private int position; // hour-of-week index of next observation
+    private final int startPosition;
+
+    /**
+     * @param startPosition hour-of-week index (0 = Monday 00:00) of the first observation
+     */
+    public HoltWintersModel(int startPosition) {
+        this.startPosition = startPosition;
+        this.position = startPosition;
+    }
+
+    /**
+     * Add next hourly observation
+     * @param value ticket count of the hour
+     */
+    public void observe(double value) {
+        if (observations < SEASON) {
+            warmup[(int) observations] = value;
+            observations++;
+            position = (position + 1) % SEASON;
+            if (observations == SEASON) {
+                initialise();
+            }
+            return;
+        }
+
+        int s = position;
+        double error = value - (level + trend + season[s]);
+        errorVariance = observations == SEASON
+                ? error * error
+                : (1 - ERROR_DECAY) * errorVariance + ERROR_DECAY * error * error;
+
+        double previousLevel = level;
+        level = ALPHA * (value - season[s]) + (1 - ALPHA) * (level + trend);
+        trend = BETA * (level - previousLevel) + (1 - BETA) * trend;
+        season[s] = GAMMA * (value - level) + (1 - GAMMA) * season[s];
+
+        position = (position + 1) % SEASON;
+        observations++;
+    }
+
+    /**
+     * Check if model has seen enough data to forecast
+     * One season initialises it, the second one calibrates the error band
+     */
+    public boolean isReady() {
+        return observations >= 2L * SEASON;
+    }
+
+    /**
+     * Forecast next hours
+     * @param horizon number of hours
+     * @return arrays {expected, lower, upper}, all clamped at zero
+     */
+    public double[][] forecast(int horizon) {
+        double[] expected = new double[horizon];
+        double[] lower = new double[horizon];
+        double[] upper = new double[horizon];
+        double sigma = Math.sqrt(errorVariance);
+
+        for (int h = 1; h <= horizon; h++) {
+            double mean = level + h * trend + season[(position + h - 1) % SEASON];
+            // Error of h-step forecast grows with the level smoothing applied h-1 times
+            double band = Z_95 * sigma * Math.sqrt(1 + (h - 1) * ALPHA * ALPHA);
+            expected[h - 1] = Math.max(0, mean);
+            lower[h - 1] = Math.max(0, mean - band);
+            upper[h - 1] = Math.max(0, mean + band);
+        }
+
+        return new double[][]{expected, lower, upper};
+    }
+
+    private void initialise() {
+        double sum = 0;
+        for (double value : warmup) {
+            sum += value;
+        }
+        level = sum / SEASON;
+        trend = 0;
+        for (int i = 0; i < SEASON; i++) {
+            season[(startPosition + i) % SEASON] = warmup[i] - level;
+        }
+    }
+}
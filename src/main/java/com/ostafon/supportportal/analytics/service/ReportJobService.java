@@ -0,0 +1,330 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.analytics.dto.CreateReportJobRequest;
+import com.ostafon.supportportal.analytics.dto.ReportJobResponse;
+import com.ostafon.supportportal.analytics.model.ReportJobEntity;
+import com.ostafon.supportportal.analytics.model.ReportJobSummary;
+import com.ostafon.supportportal.analytics.repo.ReportJobRepo;
+import com.ostafon.supportportal.common.enums.ReportJobStatus;
+import com.ostafon.supportportal.common.enums.ReportType;
+import com.ostafon.supportportal.common.exception.ResourceNotFoundException;
+import com.ostafon.supportportal.common.utils.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for asynchronous analytics reports
+ * Jobs run on a bounded pool with a per-user concurrency limit,
+ * results are stored with the job so downloads never recompute.
+ * The worker and cancel requests change status only through conditional
+ * updates, so whichever transition comes first wins. Each job is owned by the node
+ * that runs it and leased through a heartbeat; only jobs of this node or with an
+ * expired lease are failed as interrupted.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final List<ReportJobStatus> UNFINISHED = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    private final ReportJobRepo jobRepo;
+    private final AnalyticsService analyticsService;
+    private final AnalyticsRangeResolver rangeResolver;
+    private final ThreadPoolTaskExecutor executor;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxJobsPerUser;
+    private final String nodeId;
+    private final long leaseMillis;
+
+    private final Map<Long, AtomicInteger> activeJobsByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Long> slotOwnerByJob = new ConcurrentHashMap<>();
+    private final Map<Long, Future<?>> futuresByJob = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportJobRepo jobRepo,
+                            AnalyticsService analyticsService,
+                            AnalyticsRangeResolver rangeResolver,
+                            @Qualifier("reportJobExecutor") ThreadPoolTaskExecutor executor,
+                            SimpMessagingTemplate messagingTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${analytics.jobs.max-per-user:2}") int maxJobsPerUser,
+                            @Value("${analytics.jobs.node-id:}") String nodeId,
+                            @Value("${analytics.jobs.lease-ms:120000}") long leaseMillis) {
+        this.jobRepo = jobRepo;
+        this.analyticsService = analyticsService;
+        this.rangeResolver = rangeResolver;
+        this.executor = executor;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.nodeId = nodeId != null && !nodeId.isBlank() ? nodeId : UUID.randomUUID().toString();
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Jobs that were queued or running when this node stopped will never finish
+     * Jobs of other live nodes keep running; theirs are failed only once the lease expires
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void failInterruptedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = jobRepo.failUnfinished(UNFINISHED, nodeId, now.minusNanos(leaseMillis * 1_000_000), now);
+        if (failed > 0) {
+            log.warn("Marked {} interrupted report jobs as failed", failed);
+        }
+    }
+
+    /**
+     * Renew leases of this node's jobs and fail jobs of nodes that stopped renewing
+     */
+    @Scheduled(fixedDelayString = "${analytics.jobs.heartbeat-ms:30000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        jobRepo.renewLeases(nodeId, UNFINISHED, now);
+        int failed = jobRepo.failExpired(UNFINISHED, now.minusNanos(leaseMillis * 1_000_000), now);
+        if (failed > 0) {
+            log.warn("Marked {} report jobs of stopped nodes as failed", failed);
+        }
+    }
+
+    /**
+     * Submit report job
+     * @param request report spec
+     * @return queued job
+     */
+    public ReportJobResponse submitJob(CreateReportJobRequest request) {
+        Long currentUserId = requireUserId();
+
+        // Validate the range now so a bad spec is rejected instead of failing later
+        String period = request.getPeriod() != null ? request.getPeriod() : "THIS_MONTH";
+        boolean customRange = request.getFrom() != null || request.getTo() != null;
+        if (customRange && request.getReportType() == ReportType.COMPARE) {
+            throw new IllegalArgumentException("Custom from/to range is not supported for COMPARE reports");
+        }
+        rangeResolver.resolve(period, request.getFrom(), request.getTo(), request.getTz());
+
+        AtomicInteger active = activeJobsByUser.computeIfAbsent(currentUserId, id -> new AtomicInteger());
+        if (active.incrementAndGet() > maxJobsPerUser) {
+            active.decrementAndGet();
+            throw new IllegalArgumentException("Too many report jobs in progress (max " + maxJobsPerUser + ")");
+        }
+
+        ReportJobEntity job = jobRepo.save(ReportJobEntity.builder()
+                .ownerId(currentUserId)
+                .reportType(request.getReportType())
+                .period(period)
+                .period2(request.getPeriod2())
+                .metric(request.getMetric())
+                .months(request.getMonths())
+                .fromDate(request.getFrom())
+                .toDate(request.getTo())
+                .tz(request.getTz())
+                .status(ReportJobStatus.QUEUED)
+                .ownerNode(nodeId)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+
+        Long jobId = job.getId();
+        slotOwnerByJob.put(jobId, currentUserId);
+        log.info("Report job {} ({}) submitted by user {}", jobId, job.getReportType(), currentUserId);
+
+        try {
+            // Analytics reads the caller's role, so the security context travels with the task
+            Future<?> future = executor.submit(new DelegatingSecurityContextRunnable(() -> runJob(jobId)));
+            futuresByJob.put(jobId, future);
+            if (future.isDone()) {
+                futuresByJob.remove(jobId);
+            }
+        } catch (RejectedExecutionException e) {
+            releaseSlot(jobId);
+            jobRepo.failJob(jobId, List.of(ReportJobStatus.QUEUED),
+                    "Report queue is full, try again later", LocalDateTime.now());
+            log.warn("Report job {} rejected: queue is full", jobId);
+        }
+
+        return toResponse(getSummary(jobId));
+    }
+
+    /**
+     * Get job state
+     * @param jobId job ID
+     * @return job
+     */
+    @Transactional(readOnly = true)
+    public ReportJobResponse getJob(Long jobId) {
+        return toResponse(getAccessibleJob(jobId));
+    }
+
+    /**
+     * Get jobs of the current user
+     * @param pageable pagination parameters
+     * @return page of jobs
+     */
+    @Transactional(readOnly = true)
+    public Page<ReportJobResponse> getMyJobs(Pageable pageable) {
+        return jobRepo.findByOwnerIdOrderByCreatedAtDesc(requireUserId(), pageable)
+                .map(this::toResponse);
+    }
+
+    /**
+     * Get stored result of a completed job
+     * @param jobId job ID
+     * @return result JSON
+     */
+    @Transactional(readOnly = true)
+    public String getJobResult(Long jobId) {
+        ReportJobSummary job = getAccessibleJob(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Report job " + jobId + " is " + job.getStatus());
+        }
+        return jobRepo.findResultById(jobId);
+    }
+
+    /**
+     * Cancel queued or running job
+     * @param jobId job ID
+     * @return cancelled job
+     */
+    public ReportJobResponse cancelJob(Long jobId) {
+        getAccessibleJob(jobId);
+        if (jobRepo.cancelJob(jobId, UNFINISHED, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Report job " + jobId + " is already " + getSummary(jobId).getStatus());
+        }
+
+        Future<?> future = futuresByJob.remove(jobId);
+        if (future != null && future.cancel(true)) {
+            // A task cancelled while still queued never runs its own cleanup
+            releaseSlot(jobId);
+        }
+
+        log.info("Report job {} cancelled", jobId);
+        ReportJobSummary job = getSummary(jobId);
+        notifyOwner(job);
+        return toResponse(job);
+    }
+
+    private void runJob(Long jobId) {
+        try {
+            ReportJobEntity job = jobRepo.findById(jobId).orElse(null);
+            if (job == null || jobRepo.startJob(jobId, LocalDateTime.now()) == 0) {
+                // Deleted or cancelled while queued
+                return;
+            }
+
+            String result = objectMapper.writeValueAsString(buildReport(job));
+
+            if (Thread.currentThread().isInterrupted()
+                    || jobRepo.completeJob(jobId, result, LocalDateTime.now()) == 0) {
+                // Cancelled while running
+                return;
+            }
+            log.info("Report job {} completed", jobId);
+        } catch (Exception e) {
+            if (jobRepo.failJob(jobId, List.of(ReportJobStatus.RUNNING), e.getMessage(), LocalDateTime.now()) == 0) {
+                return;
+            }
+            log.error("Report job {} failed: {}", jobId, e.getMessage());
+        } finally {
+            futuresByJob.remove(jobId);
+            releaseSlot(jobId);
+        }
+
+        jobRepo.findSummaryById(jobId).ifPresent(this::notifyOwner);
+    }
+
+    private Object buildReport(ReportJobEntity job) {
+        // Preset periods resolve at run time, so THIS_MONTH means the month the job ran in
+        AnalyticsRange range = rangeResolver.resolve(job.getPeriod(), job.getFromDate(), job.getToDate(), job.getTz());
+        return switch (job.getReportType()) {
+            case TICKETS -> analyticsService.getTicketAnalytics(range);
+            case ENGINEERS -> analyticsService.getEngineerAnalytics(range);
+            case USERS -> analyticsService.getUserAnalytics(range);
+            case TRENDS -> analyticsService.getTrends(
+                    job.getMetric() != null ? job.getMetric() : "TICKETS", range);
+            case COMPARE -> analyticsService.compareAnalytics(
+                    job.getPeriod(), job.getPeriod2() != null ? job.getPeriod2() : "LAST_MONTH", job.getTz());
+            case COHORTS -> analyticsService.getCohortMatrix(job.getMonths() != null ? job.getMonths() : 6);
+        };
+    }
+
+    private void releaseSlot(Long jobId) {
+        // remove() makes release idempotent between the worker and cancelJob
+        Long ownerId = slotOwnerByJob.remove(jobId);
+        if (ownerId == null) {
+            return;
+        }
+        AtomicInteger active = activeJobsByUser.get(ownerId);
+        if (active != null) {
+            active.decrementAndGet();
+        }
+    }
+
+    private void notifyOwner(ReportJobSummary job) {
+        messagingTemplate.convertAndSend("/topic/analytics/jobs/" + job.getOwnerId(), toResponse(job));
+    }
+
+    private ReportJobSummary getAccessibleJob(Long jobId) {
+        Long currentUserId = requireUserId();
+        ReportJobSummary job = getSummary(jobId);
+
+        if (!job.getOwnerId().equals(currentUserId) && !SecurityUtils.hasRole("ADMIN")) {
+            throw new AccessDeniedException("You don't have permission to access this report job");
+        }
+        return job;
+    }
+
+    private ReportJobSummary getSummary(Long jobId) {
+        return jobRepo.findSummaryById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job", "id", jobId));
+    }
+
+    private Long requireUserId() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+        return currentUserId;
+    }
+
+    private ReportJobResponse toResponse(ReportJobSummary job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .reportType(job.getReportType())
+                .period(job.getPeriod())
+                .period2(job.getPeriod2())
+                .metric(job.getMetric())
+                .months(job.getMonths())
+                .from(job.getFromDate())
+                .to(job.getToDate())
+                .tz(job.getTz())
+                .status(job.getStatus())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
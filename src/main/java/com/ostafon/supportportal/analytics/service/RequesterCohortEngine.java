@@ -0,0 +1,169 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.tickets.event.TicketChangedEvent;
+import com.ostafon.supportportal.tickets.repo.TicketRepo;
+import com.ostafon.supportportal.users.repo.UserRepo;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Cohort engine for user analytics
+ * Keeps per-month sets of user IDs as compressed bitmaps so retention,
+ * cohort matrices and active-user counts become bitmap intersections
+ * instead of list scans. Bitmaps are 64-bit so any bigint ID fits.
+ * Months that are already over rarely change, so their bitmaps are cached
+ * for a TTL (deleted tickets also drop their month); the current month is
+ * always re-read.
+ */
+@Component
+public class RequesterCohortEngine {
+
+    private final TicketRepo ticketRepo;
+    private final UserRepo userRepo;
+    private final Duration cacheTtl;
+
+    private final Map<YearMonth, CachedMonth> requestersByMonth = new ConcurrentHashMap<>();
+    private final Map<YearMonth, CachedMonth> signupsByMonth = new ConcurrentHashMap<>();
+
+    public RequesterCohortEngine(TicketRepo ticketRepo,
+                                 UserRepo userRepo,
+                                 @Value("${analytics.cohort.cache-ttl-minutes:60}") long cacheTtlMinutes) {
+        this.ticketRepo = ticketRepo;
+        this.userRepo = userRepo;
+        this.cacheTtl = Duration.ofMinutes(cacheTtlMinutes);
+    }
+
+    /**
+     * Get users who created at least one ticket in range
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return bitmap of requester IDs (caller owns the instance)
+     */
+    public Roaring64NavigableMap activeRequesters(LocalDateTime start, LocalDateTime end) {
+        return collect(start, end, requestersByMonth, ticketRepo::findDistinctRequesterIds);
+    }
+
+    /**
+     * Get users registered in range
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return bitmap of user IDs (caller owns the instance)
+     */
+    public Roaring64NavigableMap registeredUsers(LocalDateTime start, LocalDateTime end) {
+        return collect(start, end, signupsByMonth, userRepo::findIdsByCreatedAtBetween);
+    }
+
+    /**
+     * Count users present in both sets
+     * @param first first set
+     * @param second second set
+     * @return size of intersection
+     */
+    public long intersectionCount(Roaring64NavigableMap first, Roaring64NavigableMap second) {
+        Roaring64NavigableMap intersection = new Roaring64NavigableMap();
+        intersection.or(first);
+        intersection.and(second);
+        return intersection.getLongCardinality();
+    }
+
+    /**
+     * Get requesters active during a calendar month
+     * @param month month
+     * @return bitmap of requester IDs (caller owns the instance)
+     */
+    public Roaring64NavigableMap activeRequesters(YearMonth month) {
+        return activeRequesters(monthStart(month), monthEnd(month));
+    }
+
+    /**
+     * Get users registered during a calendar month
+     * @param month month
+     * @return bitmap of user IDs (caller owns the instance)
+     */
+    public Roaring64NavigableMap registeredUsers(YearMonth month) {
+        return registeredUsers(monthStart(month), monthEnd(month));
+    }
+
+    /**
+     * Drop the cached month of a deleted ticket
+     * @param event ticket snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.deleted() && event.createdAt() != null) {
+            requestersByMonth.remove(YearMonth.from(event.createdAt()));
+        }
+    }
+
+    private Roaring64NavigableMap collect(LocalDateTime start, LocalDateTime end,
+                                          Map<YearMonth, CachedMonth> cache,
+                                          BiFunction<LocalDateTime, LocalDateTime, List<Long>> loader) {
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        if (end.isBefore(start)) {
+            return result;
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        LocalDateTime now = LocalDateTime.now();
+        YearMonth month = YearMonth.from(start);
+        YearMonth lastMonth = YearMonth.from(end);
+
+        while (!month.isAfter(lastMonth)) {
+            LocalDateTime monthStart = monthStart(month);
+            LocalDateTime monthEnd = monthEnd(month);
+            boolean wholeMonth = !start.isAfter(monthStart) && !end.isBefore(monthEnd);
+
+            if (wholeMonth && month.isBefore(currentMonth)) {
+                // Closed month - load once and reuse until the TTL runs out
+                CachedMonth cached = cache.get(month);
+                if (cached == null || !cached.loadedAt().plus(cacheTtl).isAfter(now)) {
+                    // Loaded outside the map; concurrent misses may both query, the last put wins
+                    cached = new CachedMonth(toBitmap(loader.apply(monthStart, monthEnd)), now);
+                    cache.put(month, cached);
+                }
+                result.or(cached.bitmap());
+            } else {
+                LocalDateTime sliceStart = start.isAfter(monthStart) ? start : monthStart;
+                LocalDateTime sliceEnd = end.isBefore(monthEnd) ? end : monthEnd;
+                result.or(toBitmap(loader.apply(sliceStart, sliceEnd)));
+            }
+
+            month = month.plusMonths(1);
+        }
+
+        return result;
+    }
+
+    private Roaring64NavigableMap toBitmap(List<Long> ids) {
+        Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        for (Long id : ids) {
+            if (id != null) {
+                bitmap.addLong(id);
+            }
+        }
+        bitmap.runOptimize();
+        return bitmap;
+    }
+
+    private LocalDateTime monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private LocalDateTime monthEnd(YearMonth month) {
+        return month.atEndOfMonth().atTime(LocalTime.MAX);
+    }
+
+    private record CachedMonth(Roaring64NavigableMap bitmap, LocalDateTime loadedAt) {
+    }
+}
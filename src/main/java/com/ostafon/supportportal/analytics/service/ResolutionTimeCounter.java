@@ -0,0 +1,96 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Running sum and count of ticket resolution times
+ * Covers RESOLVED/CLOSED tickets with closedAt, the same set the dashboard
+ * average has always used. Updated from committed status changes and
+ * reconciled against the database on startup and periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResolutionTimeCounter {
+
+    private static final String RECONCILE_SQL =
+            "SELECT COUNT(*) AS resolved, " +
+            "       COALESCE(SUM(FLOOR(EXTRACT(EPOCH FROM (closed_at - created_at)) / 3600)), 0) AS hours " +
+            "FROM tickets WHERE status IN ('RESOLVED', 'CLOSED') AND closed_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<Totals> totals = new AtomicReference<>(new Totals(0, 0));
+
+    /**
+     * Get average resolution time
+     * @return average hours, 0 if nothing is resolved
+     */
+    public double averageHours() {
+        return totals.get().average();
+    }
+
+    /**
+     * Get number of resolved tickets with known resolution time
+     */
+    public long resolvedCount() {
+        return totals.get().count();
+    }
+
+    /**
+     * Apply committed status change
+     * A ticket counts while it is RESOLVED/CLOSED and has closedAt
+     * @param event status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TicketStatusChangedEvent event) {
+        if (event.closedAt() == null || event.createdAt() == null) {
+            return;
+        }
+
+        boolean countedBefore = TicketStatusChangedEvent.isResolved(event.oldStatus()) && !event.closeStamped();
+        boolean countedAfter = TicketStatusChangedEvent.isResolved(event.newStatus());
+        int delta = (countedAfter ? 1 : 0) - (countedBefore ? 1 : 0);
+        if (delta == 0) {
+            return;
+        }
+
+        long hours = Duration.between(event.createdAt(), event.closedAt()).toHours();
+        totals.updateAndGet(t -> new Totals(t.count() + delta, t.hours() + delta * hours));
+    }
+
+    /**
+     * Reload totals from the database
+     * Corrects drift from changes made outside TicketService
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${analytics.resolution-counter.reconcile-cron:0 0 * * * *}")
+    public void reconcile() {
+        Totals fresh = jdbcTemplate.queryForObject(RECONCILE_SQL,
+                (rs, rowNum) -> new Totals(rs.getLong("resolved"), rs.getLong("hours")));
+        Totals previous = totals.getAndSet(fresh);
+
+        if (previous.count() != fresh.count() || previous.hours() != fresh.hours()) {
+            log.info("Resolution time counter reconciled: {} tickets / {} h (was {} / {} h)",
+                    fresh.count(), fresh.hours(), previous.count(), previous.hours());
+        }
+    }
+
+    private record Totals(long count, long hours) {
+
+        double average() {
+            return count > 0 ? (double) hours / count : 0.0;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.common.enums.AnalyticsDimension;
+import com.ostafon.supportportal.common.enums.TicketPriority;
+import com.ostafon.supportportal.common.enums.TicketStatus;
+import com.ostafon.supportportal.tickets.event.TicketChangedEvent;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory columnar snapshot of ticket facts
+ * One primitive array per column (times as epoch seconds, enums as ordinals,
+ * assignee/group dictionary-encoded), rows kept in ticket ID order.
+ * Loaded on startup and kept current from TicketChangedEvent after commit,
+ * so slices are answered by flat array scans without touching the database.
+ * Enabled with analytics.fact-store.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "analytics.fact-store", name = "enabled", havingValue = "true")
+@Slf4j
+public class TicketFactStore {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final byte DELETED = -1;
+    private static final int NONE = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOAD_FETCH_SIZE = 5000;
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId storageZone;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] createdAt;
+    private long[] closedAt;
+    private byte[] status;
+    private byte[] priority;
+    private int[] assignee;
+    private int[] group;
+    private int size;
+    private final Dictionary assignees = new Dictionary();
+    private final Dictionary groups = new Dictionary();
+
+    private volatile boolean ready;
+
+    public TicketFactStore(DataSource dataSource, AnalyticsRangeResolver rangeResolver) {
+        // Own template so the cursor fetch size does not leak to other users
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.storageZone = rangeResolver.getStorageZone();
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Check if snapshot is loaded and can serve queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Get number of live tickets in snapshot
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (status[i] != DELETED) live++;
+            }
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load snapshot from tickets table
+     * Write lock is held for the whole load, so changes committed meanwhile
+     * are applied after it and never overwritten by older rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            allocate(INITIAL_CAPACITY);
+            size = 0;
+            assignees.clear();
+            groups.clear();
+
+            jdbcTemplate.query(
+                    "SELECT id, status, priority, assignee_id, group_id, created_at, closed_at " +
+                    "FROM tickets ORDER BY id",
+                    (RowCallbackHandler) this::appendRow);
+
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Ticket fact store loaded {} tickets in {} ms", size, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Apply committed ticket change
+     * @param event ticket snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.ticketId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int row = findOrInsertRow(event.ticketId());
+            if (event.deleted()) {
+                status[row] = DELETED;
+                return;
+            }
+            createdAt[row] = toEpoch(event.createdAt());
+            closedAt[row] = toEpoch(event.closedAt());
+            status[row] = (byte) event.status().ordinal();
+            priority[row] = (byte) event.priority().ordinal();
+            assignee[row] = assignees.encode(event.assigneeId());
+            group[row] = groups.encode(event.groupId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scan snapshot for slice
+     * @param query filter and group-by
+     * @return ordered map key -> {count, resolved, resolution hours sum}
+     */
+    public Map<String, long[]> slice(TicketSliceQuery query) {
+        long from = query.range().start().toEpochSecond();
+        long to = query.range().end().toEpochSecond();
+        int statusMask = mask(query.statuses().isEmpty() ? null : query.statuses().stream().mapToInt(Enum::ordinal).toArray());
+        int priorityMask = mask(query.priorities().isEmpty() ? null : query.priorities().stream().mapToInt(Enum::ordinal).toArray());
+        boolean[] resolvedStatus = new boolean[STATUSES.length];
+        for (TicketStatus s : STATUSES) {
+            resolvedStatus[s.ordinal()] = TicketStatusChangedEvent.isResolved(s);
+        }
+        AnalyticsDimension groupBy = query.groupBy();
+
+        lock.readLock().lock();
+        try {
+            int assigneeCode = query.assigneeId() != null ? assignees.find(query.assigneeId()) : -1;
+            int groupCode = query.groupId() != null ? groups.find(query.groupId()) : -1;
+            if ((query.assigneeId() != null && assigneeCode < 0) || (query.groupId() != null && groupCode < 0)) {
+                return new LinkedHashMap<>();
+            }
+
+            int keys = switch (groupBy) {
+                case STATUS -> STATUSES.length;
+                case PRIORITY -> PRIORITIES.length;
+                case ASSIGNEE -> assignees.size();
+                case GROUP -> groups.size();
+                case NONE -> 1;
+            };
+            long[] count = new long[keys];
+            long[] resolved = new long[keys];
+            long[] hours = new long[keys];
+
+            for (int i = 0; i < size; i++) {
+                long created = createdAt[i];
+                int st = status[i];
+                if (created < from || created >= to || st < 0
+                        || (statusMask & (1 << st)) == 0
+                        || (priorityMask & (1 << priority[i])) == 0
+                        || (assigneeCode >= 0 && assignee[i] != assigneeCode)
+                        || (groupCode >= 0 && group[i] != groupCode)) {
+                    continue;
+                }
+
+                int key = switch (groupBy) {
+                    case STATUS -> st;
+                    case PRIORITY -> priority[i];
+                    case ASSIGNEE -> assignee[i];
+                    case GROUP -> group[i];
+                    case NONE -> 0;
+                };
+
+                count[key]++;
+                long closed = closedAt[i];
+                if (closed != NO_TIME && resolvedStatus[st]) {
+                    resolved[key]++;
+                    hours[key] += (closed - created) / 3600;
+                }
+            }
+
+            Map<String, long[]> result = new LinkedHashMap<>();
+            for (int key = 0; key < keys; key++) {
+                if (count[key] > 0) {
+                    result.put(keyName(groupBy, key), new long[]{count[key], resolved[key], hours[key]});
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void appendRow(ResultSet rs) throws SQLException {
+        ensureCapacity(size + 1);
+        ids[size] = rs.getLong("id");
+        status[size] = (byte) TicketStatus.valueOf(rs.getString("status")).ordinal();
+        priority[size] = (byte) TicketPriority.valueOf(rs.getString("priority")).ordinal();
+        long assigneeId = rs.getLong("assignee_id");
+        assignee[size] = assignees.encode(rs.wasNull() ? null : assigneeId);
+        long groupId = rs.getLong("group_id");
+        group[size] = groups.encode(rs.wasNull() ? null : groupId);
+        createdAt[size] = toEpoch(rs.getObject("created_at", LocalDateTime.class));
+        closedAt[size] = toEpoch(rs.getObject("closed_at", LocalDateTime.class));
+        size++;
+    }
+
+    /**
+     * Find row of ticket, inserting an empty row in ID order if absent
+     * New tickets almost always have the highest ID, so this is an append.
+     */
+    private int findOrInsertRow(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            status[size] = DELETED;
+            return size++;
+        }
+
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return pos;
+        }
+
+        // Out-of-order commit of concurrent inserts
+        int insertAt = -pos - 1;
+        ensureCapacity(size + 1);
+        int tail = size - insertAt;
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, tail);
+        System.arraycopy(createdAt, insertAt, createdAt, insertAt + 1, tail);
+        System.arraycopy(closedAt, insertAt, closedAt, insertAt + 1, tail);
+        System.arraycopy(status, insertAt, status, insertAt + 1, tail);
+        System.arraycopy(priority, insertAt, priority, insertAt + 1, tail);
+        System.arraycopy(assignee, insertAt, assignee, insertAt + 1, tail);
+        System.arraycopy(group, insertAt, group, insertAt + 1, tail);
+        ids[insertAt] = id;
+        status[insertAt] = DELETED;
+        size++;
+        return insertAt;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        createdAt = new long[capacity];
+        closedAt = new long[capacity];
+        status = new byte[capacity];
+        priority = new byte[capacity];
+        assignee = new int[capacity];
+        group = new int[capacity];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        closedAt = Arrays.copyOf(closedAt, capacity);
+        status = Arrays.copyOf(status, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        assignee = Arrays.copyOf(assignee, capacity);
+        group = Arrays.copyOf(group, capacity);
+    }
+
+    private long toEpoch(LocalDateTime stored) {
+        return stored != null ? stored.atZone(storageZone).toEpochSecond() : NO_TIME;
+    }
+
+    private int mask(int[] ordinals) {
+        if (ordinals == null) {
+            return -1;
+        }
+        int mask = 0;
+        for (int ordinal : ordinals) {
+            mask |= 1 << ordinal;
+        }
+        return mask;
+    }
+
+    private String keyName(AnalyticsDimension groupBy, int key) {
+        return switch (groupBy) {
+            case STATUS -> STATUSES[key].name();
+            case PRIORITY -> PRIORITIES[key].name();
+            case ASSIGNEE -> assignees.name(key);
+            case GROUP -> groups.name(key);
+            case NONE -> "ALL";
+        };
+    }
+
+    /**
+     * Dense codes for entity IDs, code 0 means "none"
+     */
+    private static final class Dictionary {
+        private final Map<Long, Integer> codes = new HashMap<>();
+        private long[] values = new long[16];
+        private int size = 1;
+
+        int encode(Long id) {
+            if (id == null) {
+                return NONE;
+            }
+            Integer code = codes.get(id);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = id;
+            codes.put(id, size);
+            return size++;
+        }
+
+        int find(long id) {
+            Integer code = codes.get(id);
+            return code != null ? code : -1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String name(int code) {
+            return code == NONE ? "NONE" : String.valueOf(values[code]);
+        }
+
+        void clear() {
+            codes.clear();
+            size = 1;
+        }
+    }
+}
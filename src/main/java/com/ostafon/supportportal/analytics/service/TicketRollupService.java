@@ -0,0 +1,118 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.analytics.model.TicketHourlyStatsEntity;
+import com.ostafon.supportportal.analytics.repo.TicketHourlyStatsRepo;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly ticket rollups keyed by UTC hour
+ * Created and resolved counts are folded per UTC hour as tickets change,
+ * so any range in any zone is answered from at most a few thousand rows.
+ * Buckets are shared hot rows, so they are updated after the ticket transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketRollupService {
+
+    private final TicketHourlyStatsRepo statsRepo;
+    private final AnalyticsRangeResolver rangeResolver;
+
+    /**
+     * Fold ticket creation, resolution and deletion into hourly buckets
+     * Runs after the publisher's commit in its own transaction
+     * @param event status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStatusChanged(TicketStatusChangedEvent event) {
+        if (event.createdAt() == null) {
+            return;
+        }
+
+        if (event.oldStatus() == null) {
+            statsRepo.addCreated(toUtcHour(event.createdAt()), 1);
+        }
+
+        boolean deletedClosed = event.newStatus() == null && event.closedAt() != null;
+        if (event.closeStamped() || deletedClosed) {
+            long sign = deletedClosed ? -1 : 1;
+            long hours = Duration.between(event.createdAt(), event.closedAt()).toHours();
+            statsRepo.addResolved(toUtcHour(event.closedAt()), sign, sign * hours);
+        }
+
+        if (event.newStatus() == null) {
+            statsRepo.addCreated(toUtcHour(event.createdAt()), -1);
+        }
+    }
+
+    /**
+     * Get hourly UTC buckets covering range
+     * @param range analytics range
+     * @return buckets ordered by time
+     */
+    @Transactional(readOnly = true)
+    public List<TicketHourlyStatsEntity> getHourlyStats(AnalyticsRange range) {
+        return statsRepo.findRange(range.utcStart(), range.utcEnd());
+    }
+
+    /**
+     * Get ticket totals per day of the range's zone
+     * @param range analytics range
+     * @return ordered map day -> totals
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, DailyStats> getDailyStats(AnalyticsRange range) {
+        LocalDate first = range.firstDay();
+        int days = (int) ChronoUnit.DAYS.between(first, range.lastDay()) + 1;
+
+        // created, resolved, resolution hours per day
+        long[][] totals = new long[Math.max(days, 0)][3];
+        for (TicketHourlyStatsEntity bucket : getHourlyStats(range)) {
+            int index = (int) ChronoUnit.DAYS.between(first, range.utcToZone(bucket.getBucketStart()).toLocalDate());
+            if (index < 0 || index >= days) {
+                continue;
+            }
+            totals[index][0] += bucket.getCreatedCount();
+            totals[index][1] += bucket.getResolvedCount();
+            totals[index][2] += bucket.getResolutionHoursSum();
+        }
+
+        Map<LocalDate, DailyStats> series = new LinkedHashMap<>();
+        for (int i = 0; i < days; i++) {
+            series.put(first.plusDays(i), new DailyStats(totals[i][0], totals[i][1], totals[i][2]));
+        }
+        return series;
+    }
+
+    /**
+     * Ticket totals of one day
+     */
+    public record DailyStats(long created, long resolved, long resolutionHoursSum) {
+
+        public double avgResolutionHours() {
+            return resolved > 0 ? (double) resolutionHoursSum / resolved : 0;
+        }
+    }
+
+    private LocalDateTime toUtcHour(LocalDateTime stored) {
+        ZonedDateTime utc = stored.atZone(rangeResolver.getStorageZone()).withZoneSameInstant(ZoneOffset.UTC);
+        return utc.toLocalDateTime().truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.common.enums.AnalyticsDimension;
+import com.ostafon.supportportal.common.enums.TicketPriority;
+import com.ostafon.supportportal.common.enums.TicketStatus;
+
+import java.util.Set;
+
+/**
+ * Filter and group-by of a ticket slice
+ * Empty status/priority sets and null ids mean "no filter"
+ * @param range creation time range
+ * @param statuses statuses to include
+ * @param priorities priorities to include
+ * @param assigneeId assignee to include
+ * @param groupId group to include
+ * @param groupBy dimension to group by
+ */
+public record TicketSliceQuery(
+        AnalyticsRange range,
+        Set<TicketStatus> statuses,
+        Set<TicketPriority> priorities,
+        Long assigneeId,
+        Long groupId,
+        AnalyticsDimension groupBy
+) {
+
+    public TicketSliceQuery {
+        statuses = statuses != null ? statuses : Set.of();
+        priorities = priorities != null ? priorities : Set.of();
+        groupBy = groupBy != null ? groupBy : AnalyticsDimension.NONE;
+    }
+
+    public boolean includes(TicketStatus status) {
+        return statuses.isEmpty() || statuses.contains(status);
+    }
+
+    public boolean includes(TicketPriority priority) {
+        return priorities.isEmpty() || priorities.contains(priority);
+    }
+}
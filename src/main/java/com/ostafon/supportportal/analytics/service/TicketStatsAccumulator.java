@@ -0,0 +1,130 @@
+package com.ostafon.supportportal.analytics.service;
+
+import com.ostafon.supportportal.common.enums.TicketPriority;
+import com.ostafon.supportportal.common.enums.TicketStatus;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
+import com.ostafon.supportportal.tickets.model.TicketEntity;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass ticket statistics
+ * Counts by status and priority go into enum-indexed counters, resolution
+ * and first response times are summed on the way, so one loop over the
+ * tickets replaces a stream pass per metric.
+ */
+public class TicketStatsAccumulator {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+
+    private final long[] byStatus = new long[STATUSES.length];
+    private final long[] byPriority = new long[PRIORITIES.length];
+    private long total;
+
+    private long[] resolutionHours = new long[64];
+    private int resolvedWithTime;
+    private long resolutionHoursSum;
+
+    private long firstResponseMinutesSum;
+    private long firstResponses;
+
+    /**
+     * Accumulate all tickets
+     * @param tickets tickets
+     * @return filled accumulator
+     */
+    public static TicketStatsAccumulator of(List<TicketEntity> tickets) {
+        TicketStatsAccumulator stats = new TicketStatsAccumulator();
+        for (TicketEntity ticket : tickets) {
+            stats.add(ticket);
+        }
+        return stats;
+    }
+
+    /**
+     * Add ticket
+     * @param ticket ticket
+     */
+    public void add(TicketEntity ticket) {
+        total++;
+        byStatus[ticket.getStatus().ordinal()]++;
+        byPriority[ticket.getPriority().ordinal()]++;
+
+        if (ticket.getClosedAt() != null && TicketStatusChangedEvent.isResolved(ticket.getStatus())) {
+            long hours = Duration.between(ticket.getCreatedAt(), ticket.getClosedAt()).toHours();
+            if (resolvedWithTime == resolutionHours.length) {
+                resolutionHours = Arrays.copyOf(resolutionHours, resolvedWithTime * 2);
+            }
+            resolutionHours[resolvedWithTime++] = hours;
+            resolutionHoursSum += hours;
+        }
+
+        if (ticket.getFirstResponseAt() != null) {
+            firstResponseMinutesSum += Duration.between(ticket.getCreatedAt(), ticket.getFirstResponseAt()).toMinutes();
+            firstResponses++;
+        }
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public long count(TicketStatus status) {
+        return byStatus[status.ordinal()];
+    }
+
+    public long count(TicketPriority priority) {
+        return byPriority[priority.ordinal()];
+    }
+
+    /**
+     * Share of resolved and closed tickets
+     * @return percentage
+     */
+    public double resolutionRate() {
+        long done = count(TicketStatus.RESOLVED) + count(TicketStatus.CLOSED);
+        return total > 0 ? ((double) done / total) * 100 : 0.0;
+    }
+
+    public double avgResolutionHours() {
+        return resolvedWithTime > 0 ? (double) resolutionHoursSum / resolvedWithTime : 0;
+    }
+
+    /**
+     * Upper median of resolution hours
+     * @return median hours
+     */
+    public double medianResolutionHours() {
+        if (resolvedWithTime == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(resolutionHours, resolvedWithTime);
+        Arrays.sort(sorted);
+        return sorted[resolvedWithTime / 2];
+    }
+
+    public double avgFirstResponseMinutes() {
+        return firstResponses > 0 ? (double) firstResponseMinutesSum / firstResponses : 0;
+    }
+
+    public Map<String, Long> statusDistribution() {
+        Map<String, Long> distribution = new HashMap<>();
+        for (TicketStatus status : STATUSES) {
+            distribution.put(status.name(), byStatus[status.ordinal()]);
+        }
+        return distribution;
+    }
+
+    public Map<String, Long> priorityDistribution() {
+        Map<String, Long> distribution = new HashMap<>();
+        for (TicketPriority priority : PRIORITIES) {
+            distribution.put(priority.name(), byPriority[priority.ordinal()]);
+        }
+        return distribution;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ostafon.supportportal.auth.service;
 
+import com.ostafon.supportportal.admin.service.ActivityFeedService;
 import com.ostafon.supportportal.auth.dto.request.LoginRequest;
 import com.ostafon.supportportal.auth.dto.request.RegisterRequest;
 import com.ostafon.supportportal.auth.dto.response.AuthResponse;
+import com.ostafon.supportportal.common.enums.ActivityType;
 import com.ostafon.supportportal.common.enums.UserRole;
 import com.ostafon.supportportal.common.security.JwtService;
 import com.ostafon.supportportal.users.model.UserEntity;
@@ -22,6 +24,7 @@ public class AuthService {
     private final UserRepo userRepo;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final ActivityFeedService activityFeedService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -47,6 +50,10 @@ public class AuthService {
         user = userRepo.save(user);
         log.info("User registered successfully with ID: {} and role: {}", user.getId(), user.getRole());
 
+        activityFeedService.record(ActivityType.USER_REGISTERED, user.getId(),
+                user.getFirstName() + " " + user.getLastName(),
+                "New " + user.getRole() + " registered", user.getEmail());
+
         String token = jwtService.generateToken(user);
 
         return buildAuthResponse(user, token);
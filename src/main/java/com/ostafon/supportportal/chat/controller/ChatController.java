@@ -6,6 +6,10 @@ import com.ostafon.supportportal.chat.dto.response.ChatHistoryResponse;
 import com.ostafon.supportportal.chat.dto.response.ChatResponse;
 import com.ostafon.supportportal.chat.dto.response.MessageDeletedResponse;
 import com.ostafon.supportportal.chat.dto.response.MessageResponse;
+import com.ostafon.supportportal.chat.dto.response.MessageSearchResponse;
+import com.ostafon.supportportal.chat.dto.response.ReadReceiptResponse;
+import com.ostafon.supportportal.chat.dto.response.UnreadCountsResponse;
+import com.ostafon.supportportal.chat.service.ChatSearchService;
 import com.ostafon.supportportal.chat.service.ChatService;
 import com.ostafon.supportportal.common.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +24,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for ticket chat
  */
@@ -33,6 +39,7 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatSearchService chatSearchService;
 
     /**
      * Send message to ticket chat
@@ -60,14 +67,18 @@ public class ChatController {
     @GetMapping("/tickets/{ticketId}/history")
     @Operation(
             summary = "Get chat history",
-            description = "Get full message history for a ticket"
+            description = "Get a page of message history for a ticket. Without cursors returns the latest messages; " +
+                          "use oldestId as 'before' to scroll back or newestId as 'after' to catch up."
     )
     public ResponseEntity<ApiResponse<ChatHistoryResponse>> getChatHistory(
-            @PathVariable @Parameter(description = "Ticket ID") Long ticketId) {
+            @PathVariable @Parameter(description = "Ticket ID") Long ticketId,
+            @RequestParam(required = false) @Parameter(description = "Return messages older than this message ID") Long before,
+            @RequestParam(required = false) @Parameter(description = "Return messages newer than this message ID") Long after,
+            @RequestParam(defaultValue = "50") @Parameter(description = "Page size (1-200)") int limit) {
 
-        log.info("REST: Get chat history for ticket {}", ticketId);
+        log.info("REST: Get chat history for ticket {} (before={}, after={})", ticketId, before, after);
 
-        ChatHistoryResponse history = chatService.getChatHistory(ticketId);
+        ChatHistoryResponse history = chatService.getChatHistory(ticketId, before, after, limit);
 
         return ResponseEntity.ok(ApiResponse.success(history));
     }
@@ -90,6 +101,83 @@ public class ChatController {
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
 
+    /**
+     * Get chat summaries of several tickets
+     */
+    @GetMapping("/summaries")
+    @Operation(
+            summary = "Get chat summaries",
+            description = "Get chat summaries (message count, last message) for up to 200 tickets in one request. " +
+                          "Tickets that do not exist or are not accessible are omitted."
+    )
+    public ResponseEntity<ApiResponse<List<ChatResponse>>> getChatSummaries(
+            @RequestParam @Parameter(description = "Ticket IDs, comma separated") List<Long> ticketIds) {
+
+        log.info("REST: Get chat summaries for {} tickets", ticketIds.size());
+
+        List<ChatResponse> summaries = chatService.getChatSummaries(ticketIds);
+
+        return ResponseEntity.ok(ApiResponse.success(summaries));
+    }
+
+    /**
+     * Mark ticket chat as read
+     */
+    @PostMapping("/tickets/{ticketId}/read")
+    @Operation(
+            summary = "Mark chat as read",
+            description = "Move the current user's read marker forward (never back) and broadcast a receipt " +
+                          "to /topic/tickets/{ticketId}/read. Without messageId marks everything as read."
+    )
+    public ResponseEntity<ApiResponse<ReadReceiptResponse>> markRead(
+            @PathVariable @Parameter(description = "Ticket ID") Long ticketId,
+            @RequestParam(required = false) @Parameter(description = "Last read message ID") Long messageId) {
+
+        log.info("REST: Mark ticket {} chat read up to {}", ticketId, messageId);
+
+        ReadReceiptResponse receipt = chatService.markRead(ticketId, messageId);
+
+        return ResponseEntity.ok(ApiResponse.success(receipt));
+    }
+
+    /**
+     * Get unread message counts
+     */
+    @GetMapping("/unread")
+    @Operation(
+            summary = "Get unread counts",
+            description = "Get non-zero unread message counts of the current user for tickets they request or are assigned to"
+    )
+    public ResponseEntity<ApiResponse<UnreadCountsResponse>> getUnreadCounts() {
+
+        log.info("REST: Get unread chat counts");
+
+        UnreadCountsResponse unread = chatService.getUnreadCounts();
+
+        return ResponseEntity.ok(ApiResponse.success(unread));
+    }
+
+    /**
+     * Search chat messages
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search chat messages",
+            description = "Case-insensitive substring search over messages of tickets the current user can access. " +
+                          "Returns newest matches first with highlighted snippets; pass nextCursor as 'before' for the next page."
+    )
+    public ResponseEntity<ApiResponse<MessageSearchResponse>> searchMessages(
+            @RequestParam @Parameter(description = "Text to find (3-200 characters)") String q,
+            @RequestParam(required = false) @Parameter(description = "Return matches older than this message ID") Long before,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size (1-100)") int limit) {
+
+        log.info("REST: Search chat messages (before={})", before);
+
+        MessageSearchResponse results = chatSearchService.search(q, before, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
     /**
      * Update a chat message
      */
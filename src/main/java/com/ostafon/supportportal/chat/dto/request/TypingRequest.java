@@ -0,0 +1,16 @@
+package com.ostafon.supportportal.chat.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TypingRequest {
+
+    @JsonProperty("typing")
+    @Builder.Default
+    private boolean typing = true; // false when the user stopped typing
+}
@@ -11,5 +11,11 @@ public class ChatHistoryResponse {
 
     private Long ticketId;
 
-    private List<MessageResponse> messages;
+    private List<MessageResponse> messages; // oldest first
+
+    private boolean hasMore; // more messages exist in the requested direction
+
+    private Long oldestId; // pass as 'before' to scroll back
+
+    private Long newestId; // pass as 'after' to catch up
 }
\ No newline at end of file
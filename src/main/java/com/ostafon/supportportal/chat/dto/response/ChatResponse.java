@@ -3,6 +3,8 @@ package com.ostafon.supportportal.chat.dto.response;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -17,6 +19,18 @@ public class ChatResponse {
     @JsonProperty("messagesCount")
     private Long messagesCount;
 
+    @JsonProperty("lastMessageId")
+    private Long lastMessageId;
+
     @JsonProperty("lastMessage")
-    private String lastMessage;
-}
\ No newline at end of file
+    private String lastMessage; // preview, up to 200 characters
+
+    @JsonProperty("lastMessageAt")
+    private LocalDateTime lastMessageAt;
+
+    @JsonProperty("lastAuthorId")
+    private Long lastAuthorId;
+
+    @JsonProperty("lastAuthorName")
+    private String lastAuthorName;
+}
@@ -0,0 +1,23 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page of chat search results, newest message first
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageSearchResponse {
+
+    @JsonProperty("items")
+    private List<MessageSearchResultResponse> items;
+
+    @JsonProperty("nextCursor")
+    private Long nextCursor; // pass as 'before' to get older results; null on last page
+}
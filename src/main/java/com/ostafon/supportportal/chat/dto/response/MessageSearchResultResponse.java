@@ -0,0 +1,35 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageSearchResultResponse {
+
+    @JsonProperty("messageId")
+    private Long messageId;
+
+    @JsonProperty("ticketId")
+    private Long ticketId;
+
+    @JsonProperty("ticketTitle")
+    private String ticketTitle;
+
+    @JsonProperty("authorId")
+    private Long authorId;
+
+    @JsonProperty("authorName")
+    private String authorName;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("snippet")
+    private String snippet; // HTML-escaped excerpt, matches wrapped in <mark>
+}
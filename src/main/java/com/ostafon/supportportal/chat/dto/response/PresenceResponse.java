@@ -0,0 +1,20 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Who is viewing and typing in a ticket chat, broadcast to /topic/tickets/{ticketId}/presence
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PresenceResponse {
+
+    private Long ticketId;
+
+    private List<PresenceUserResponse> viewers;
+
+    private List<PresenceUserResponse> typing;
+}
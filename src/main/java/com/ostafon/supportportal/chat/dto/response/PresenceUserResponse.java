@@ -0,0 +1,13 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class PresenceUserResponse {
+
+    private Long userId;
+
+    private String userName;
+}
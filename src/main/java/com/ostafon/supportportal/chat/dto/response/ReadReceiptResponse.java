@@ -0,0 +1,22 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read receipt, broadcast to /topic/tickets/{ticketId}/read
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ReadReceiptResponse {
+
+    private Long ticketId;
+
+    private Long userId;
+
+    private Long lastReadMessageId;
+
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,15 @@
+package com.ostafon.supportportal.chat.dto.response;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class UnreadCountsResponse {
+
+    private long totalUnread;
+
+    private Map<Long, Integer> tickets; // ticket ID -> unread messages, non-zero only
+}
@@ -1,11 +1,14 @@
 package com.ostafon.supportportal.chat.repo;
 
 import com.ostafon.supportportal.tickets.model.TicketMessageEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository for ticket chat messages
@@ -13,9 +16,63 @@ import java.util.Optional;
 @Repository
 public interface TicketMessageRepo extends JpaRepository<TicketMessageEntity, Long> {
 
-    List<TicketMessageEntity> findByTicket_IdOrderByCreatedAtAsc(Long ticketId);
+    /**
+     * Get latest messages of a ticket with authors
+     * @param ticketId ticket ID
+     * @param pageable page limit
+     * @return messages, newest first
+     */
+    @Query("SELECT m FROM TicketMessageEntity m JOIN FETCH m.author " +
+           "WHERE m.ticket.id = :ticketId " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<TicketMessageEntity> findLatest(@Param("ticketId") Long ticketId, Pageable pageable);
 
-    long countByTicket_Id(Long ticketId);
+    /**
+     * Get messages older than a cursor position with authors
+     * @param ticketId ticket ID
+     * @param createdAt cursor message time
+     * @param id cursor message ID
+     * @param pageable page limit
+     * @return messages, newest first
+     */
+    @Query("SELECT m FROM TicketMessageEntity m JOIN FETCH m.author " +
+           "WHERE m.ticket.id = :ticketId " +
+           "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<TicketMessageEntity> findBefore(@Param("ticketId") Long ticketId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 
-    Optional<TicketMessageEntity> findTop1ByTicket_IdOrderByCreatedAtDesc(Long ticketId);
+    /**
+     * Get messages newer than a cursor position with authors
+     * @param ticketId ticket ID
+     * @param createdAt cursor message time
+     * @param id cursor message ID
+     * @param pageable page limit
+     * @return messages, oldest first
+     */
+    @Query("SELECT m FROM TicketMessageEntity m JOIN FETCH m.author " +
+           "WHERE m.ticket.id = :ticketId " +
+           "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<TicketMessageEntity> findAfter(@Param("ticketId") Long ticketId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /**
+     * Get messages with a higher ID than the given one, with authors
+     * Used for reconnect replay, where the client only knows the last ID it saw
+     * @param ticketId ticket ID
+     * @param id last seen message ID
+     * @param pageable page limit
+     * @return messages, lowest ID first
+     */
+    @Query("SELECT m FROM TicketMessageEntity m JOIN FETCH m.author " +
+           "WHERE m.ticket.id = :ticketId AND m.id > :id " +
+           "ORDER BY m.id ASC")
+    List<TicketMessageEntity> findAfterId(@Param("ticketId") Long ticketId,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
 }
@@ -0,0 +1,354 @@
+package com.ostafon.supportportal.chat.service;
+
+import com.ostafon.supportportal.admin.service.ActivityFeedService;
+import com.ostafon.supportportal.chat.dto.response.MessageResponse;
+import com.ostafon.supportportal.common.enums.ActivityType;
+import com.ostafon.supportportal.common.enums.NotificationChannel;
+import com.ostafon.supportportal.common.enums.NotificationStatus;
+import com.ostafon.supportportal.notifications.dto.response.NotificationResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for chat messages
+ * Validated sends are queued; a single writer collects everything that arrives within
+ * a few milliseconds and stores the whole batch (messages, chat summaries,
+ * first-response marks and in-app notifications) with multi-row statements in one transaction. Callers are
+ * acknowledged right after that commit, so a returned message is always durable; broadcasts and
+ * feed updates follow and a failure in one of them never affects the callers or the writer.
+ * A batch rejected by the database is retried one message at a time, so only the
+ * offending messages fail. Messages still queued at shutdown are written before the context closes.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class ChatGroupCommitter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ActivityFeedService activityFeedService;
+    private final ChatSummaryService chatSummaryService;
+    private final ChatReadService chatReadService;
+
+    private final long maxWaitNanos;
+    private final int maxBatch;
+    private final long ackTimeoutMs;
+    private final BlockingQueue<PendingMessage> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ChatGroupCommitter(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              SimpMessagingTemplate messagingTemplate,
+                              ActivityFeedService activityFeedService,
+                              ChatSummaryService chatSummaryService,
+                              ChatReadService chatReadService,
+                              @Value("${chat.group-commit.max-wait-ms:5}") long maxWaitMs,
+                              @Value("${chat.group-commit.max-batch:200}") int maxBatch,
+                              @Value("${chat.group-commit.queue-capacity:5000}") int queueCapacity,
+                              @Value("${chat.group-commit.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.activityFeedService = activityFeedService;
+        this.chatSummaryService = chatSummaryService;
+        this.chatReadService = chatReadService;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.maxBatch = maxBatch;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "chat-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Let the writer finish its batch, then write whatever is still queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(ackTimeoutMs);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            IllegalStateException stopped = new IllegalStateException("Chat writer is shutting down, message was not stored");
+            List<PendingMessage> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(message -> message.ack().completeExceptionally(stopped));
+            log.warn("Group commit writer did not stop in time, failed {} queued chat messages", left.size());
+            return;
+        }
+
+        List<PendingMessage> batch = new ArrayList<>(maxBatch);
+        while (queue.drainTo(batch, maxBatch) > 0) {
+            try {
+                flush(batch);
+            } catch (RuntimeException e) {
+                log.error("Group commit of {} chat messages failed on shutdown: {}", batch.size(), e.getMessage());
+                batch.forEach(message -> message.ack().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Queue a validated message and wait until its batch is committed
+     * @param message validated message
+     * @return stored message, or null if the queue is full or stopping and the caller should write directly
+     */
+    public MessageResponse submitAndAwait(PendingMessage message) {
+        if (!running || !queue.offer(message)) {
+            return null;
+        }
+
+        try {
+            return message.ack().get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Message was not confirmed in time, check chat history before resending");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for message commit");
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The writer must outlive any single batch
+                log.error("Group commit writer failed on {} chat messages: {}", batch.size(), e.getMessage());
+                batch.forEach(message -> message.ack().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        BatchResult result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                List<MessageResponse> messages = insertMessages(batch);
+                chatSummaryService.messagesAdded(messages);
+                markFirstResponses(batch);
+                return new BatchResult(messages, insertNotifications(batch));
+            });
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                log.warn("Chat message for ticket {} rejected: {}", batch.get(0).ticketId(), e.getMessage());
+                batch.get(0).ack().completeExceptionally(e);
+                return;
+            }
+            // E.g. a ticket deleted after validation; fail only the messages the database rejects
+            log.warn("Group commit of {} chat messages rejected, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(message -> flush(List.of(message)));
+            return;
+        } catch (Exception e) {
+            log.error("Group commit of {} chat messages failed: {}", batch.size(), e.getMessage());
+            batch.forEach(message -> message.ack().completeExceptionally(e));
+            return;
+        }
+
+        log.debug("Group commit stored {} chat messages", batch.size());
+
+        // Messages are durable now; callers must not wait for the side effects below
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).ack().complete(result.messages().get(i));
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMessage message = batch.get(i);
+            MessageResponse response = result.messages().get(i);
+            sideEffect("broadcast", message.ticketId(), () ->
+                    messagingTemplate.convertAndSend("/topic/tickets/" + message.ticketId(), response));
+            sideEffect("activity", message.ticketId(), () ->
+                    activityFeedService.record(ActivityType.CHAT_MESSAGE_SENT, message.authorId(),
+                            message.authorName(), "Message in ticket #" + message.ticketId(), null));
+            sideEffect("unread counters", message.ticketId(), () ->
+                    chatReadService.messageAdded(message.ticketId(), message.recipientIds()));
+        }
+        for (NotificationResponse notification : result.notifications()) {
+            sideEffect("notification", notification.getUserId(), () ->
+                    messagingTemplate.convertAndSend("/topic/notifications/" + notification.getUserId(), notification));
+        }
+    }
+
+    /**
+     * Run one post-commit step; its failure is logged and does not stop the others
+     */
+    private void sideEffect(String step, Long id, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Group commit {} for {} failed: {}", step, id, e.getMessage());
+        }
+    }
+
+    private List<MessageResponse> insertMessages(List<PendingMessage> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ticket_messages (ticket_id, author_id, message, created_at) VALUES ");
+        List<Object> args = new ArrayList<>(batch.size() * 4);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMessage message = batch.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            args.add(message.ticketId());
+            args.add(message.authorId());
+            args.add(message.text());
+            args.add(Timestamp.valueOf(message.createdAt()));
+        }
+        sql.append(" RETURNING id");
+
+        List<Long> ids = returningIds(sql.toString(), args);
+
+        List<MessageResponse> responses = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMessage message = batch.get(i);
+            responses.add(MessageResponse.builder()
+                    .id(ids.get(i))
+                    .ticketId(message.ticketId())
+                    .message(message.text())
+                    .authorId(message.authorId())
+                    .authorName(message.authorName())
+                    .createdAt(message.createdAt())
+                    .build());
+        }
+        return responses;
+    }
+
+    private void markFirstResponses(List<PendingMessage> batch) {
+        List<Object[]> args = new ArrayList<>();
+        for (PendingMessage message : batch) {
+            if (message.firstResponse()) {
+                args.add(new Object[]{Timestamp.valueOf(message.createdAt()), message.ticketId()});
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE tickets SET first_response_at = ? WHERE id = ? AND first_response_at IS NULL", args);
+        }
+    }
+
+    private List<NotificationResponse> insertNotifications(List<PendingMessage> batch) {
+        List<NotificationResponse> notifications = new ArrayList<>();
+        for (PendingMessage message : batch) {
+            for (Long recipientId : message.recipientIds()) {
+                notifications.add(NotificationResponse.builder()
+                        .userId(recipientId)
+                        .channel(NotificationChannel.IN_APP)
+                        .title("New message in ticket #" + message.ticketId())
+                        .body(message.text())
+                        .status(NotificationStatus.SENT)
+                        .createdAt(message.createdAt())
+                        .sentAt(message.createdAt())
+                        .build());
+            }
+        }
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO notifications (user_id, channel, title, body, status, created_at, sent_at) VALUES ");
+        List<Object> args = new ArrayList<>(notifications.size() * 7);
+        for (int i = 0; i < notifications.size(); i++) {
+            NotificationResponse notification = notifications.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+            args.add(notification.getUserId());
+            args.add(notification.getChannel().name());
+            args.add(notification.getTitle());
+            args.add(notification.getBody());
+            args.add(notification.getStatus().name());
+            args.add(Timestamp.valueOf(notification.getCreatedAt()));
+            args.add(Timestamp.valueOf(notification.getSentAt()));
+        }
+        sql.append(" RETURNING id");
+
+        List<Long> ids = returningIds(sql.toString(), args);
+        for (int i = 0; i < notifications.size(); i++) {
+            notifications.get(i).setId(ids.get(i));
+        }
+        return notifications;
+    }
+
+    /**
+     * Run multi-row INSERT ... RETURNING id
+     * Ids of one statement are drawn from the sequence in VALUES order, so sorting
+     * them restores row order even if RETURNING does not preserve it
+     */
+    private List<Long> returningIds(String sql, List<Object> args) {
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private record BatchResult(List<MessageResponse> messages, List<NotificationResponse> notifications) {
+    }
+
+    /**
+     * Validated message waiting for the next batch
+     * @param recipientIds users to notify in-app (requester/assignee except the author)
+     * @param firstResponse whether this may be the ticket's first response
+     */
+    public record PendingMessage(Long ticketId,
+                                 Long authorId,
+                                 String authorName,
+                                 String text,
+                                 LocalDateTime createdAt,
+                                 List<Long> recipientIds,
+                                 boolean firstResponse,
+                                 CompletableFuture<MessageResponse> ack) {
+    }
+}
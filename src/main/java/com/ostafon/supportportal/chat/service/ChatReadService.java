@@ -0,0 +1,361 @@
+package com.ostafon.supportportal.chat.service;
+
+import com.ostafon.supportportal.chat.dto.response.ReadReceiptResponse;
+import com.ostafon.supportportal.chat.dto.response.UnreadCountsResponse;
+import com.ostafon.supportportal.chat.websoket.ClusterRelay;
+import com.ostafon.supportportal.tickets.event.TicketChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Chat read markers and unread counters
+ * The last-read message per (user, ticket) is kept in memory and written behind
+ * to ticket_read_markers in batches. Unread counts of a user are loaded with one
+ * query on first use and then maintained from sends and reads; they are dropped
+ * when participants change, when a message is deleted, or after a TTL.
+ * Unread counts cover tickets where the user is requester or assignee.
+ * With the cluster relay enabled, sends and reads handled by other nodes arrive as
+ * relayed /topic/tickets/{id} and /read frames and drop the affected cached counts.
+ */
+@Service
+@Slf4j
+public class ChatReadService implements ChannelInterceptor {
+
+    private static final String TICKET_TOPIC = "/topic/tickets/";
+
+    private static final String LOAD_MARKER_SQL =
+            "SELECT last_read_message_id FROM ticket_read_markers WHERE user_id = ? AND ticket_id = ?";
+
+    private static final String UPSERT_MARKER_SQL =
+            "INSERT INTO ticket_read_markers AS r (user_id, ticket_id, last_read_message_id, read_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, ticket_id) DO UPDATE SET " +
+            "last_read_message_id = GREATEST(r.last_read_message_id, EXCLUDED.last_read_message_id), " +
+            "read_at = EXCLUDED.read_at";
+
+    // Zero counts are kept too, so relayed frames can tell which cached users a ticket concerns
+    private static final String UNREAD_BY_TICKET_SQL =
+            "SELECT t.id, COUNT(m.id) " +
+            "FROM tickets t " +
+            "LEFT JOIN ticket_read_markers r ON r.ticket_id = t.id AND r.user_id = ? " +
+            "LEFT JOIN ticket_messages m ON m.ticket_id = t.id AND m.author_id <> ? " +
+            "AND m.id > COALESCE(r.last_read_message_id, 0) " +
+            "WHERE (t.requester_id = ? OR t.assignee_id = ?) " +
+            "GROUP BY t.id";
+
+    private static final String UNREAD_IN_TICKET_SQL =
+            "SELECT COUNT(*) FROM ticket_messages WHERE ticket_id = ? AND author_id <> ? AND id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AbstractSubscribableChannel brokerChannel;
+    private final ObjectMapper objectMapper;
+    private final long cacheTtlMillis;
+    private final boolean clustered;
+
+    private final Map<MarkerKey, Marker> markers = new ConcurrentHashMap<>();
+    private final Set<MarkerKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, UnreadCache> unreadByUser = new ConcurrentHashMap<>();
+
+    public ChatReadService(JdbcTemplate jdbcTemplate,
+                           SimpMessagingTemplate messagingTemplate,
+                           @Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+                           ObjectMapper objectMapper,
+                           @Value("${chat.read-markers.cache-ttl-ms:300000}") long cacheTtlMillis,
+                           @Value("${chat.cluster-relay.enabled:false}") boolean clustered) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.brokerChannel = brokerChannel;
+        this.objectMapper = objectMapper;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.clustered = clustered;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (clustered) {
+            brokerChannel.addInterceptor(this);
+        }
+    }
+
+    /**
+     * Drop cached counts touched by frames relayed from other nodes
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!message.getHeaders().containsKey(ClusterRelay.RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(TICKET_TOPIC)) {
+            return message;
+        }
+
+        String rest = destination.substring(TICKET_TOPIC.length());
+        try {
+            if (rest.endsWith("/read") && message.getPayload() instanceof byte[] payload) {
+                // Only the reader's counts move
+                unreadByUser.remove(objectMapper.readValue(payload, ReadReceiptResponse.class).getUserId());
+            } else if (rest.indexOf('/') < 0) {
+                Long ticketId = Long.valueOf(rest);
+                unreadByUser.values().removeIf(cache -> cache.counts().containsKey(ticketId));
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring relayed frame on {}: {}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    /**
+     * Move the read marker of a user forward and broadcast a receipt
+     * Access must be checked by the caller
+     * @param userId reading user ID
+     * @param ticketId ticket ID
+     * @param messageId last message the user has read
+     * @return effective receipt (the marker never moves back; readAt is null if nothing changed)
+     */
+    public ReadReceiptResponse markRead(Long userId, Long ticketId, Long messageId) {
+        MarkerKey key = new MarkerKey(userId, ticketId);
+        LocalDateTime now = LocalDateTime.now();
+
+        Marker current = markers.get(key);
+        long stored = current != null ? current.messageId() : loadMarker(key);
+        if (messageId <= stored) {
+            return ReadReceiptResponse.builder()
+                    .ticketId(ticketId)
+                    .userId(userId)
+                    .lastReadMessageId(stored)
+                    .readAt(current != null ? current.readAt() : null)
+                    .build();
+        }
+
+        Marker marker = markers.merge(key, new Marker(messageId, now),
+                (existing, next) -> next.messageId() > existing.messageId() ? next : existing);
+        dirty.add(key);
+        refreshUnread(userId, ticketId, marker.messageId());
+
+        ReadReceiptResponse receipt = ReadReceiptResponse.builder()
+                .ticketId(ticketId)
+                .userId(userId)
+                .lastReadMessageId(marker.messageId())
+                .readAt(marker.readAt())
+                .build();
+
+        messagingTemplate.convertAndSend("/topic/tickets/" + ticketId + "/read", receipt);
+        return receipt;
+    }
+
+    /**
+     * Get non-zero unread counts of a user
+     * @param userId user ID
+     * @return unread counts per ticket
+     */
+    public UnreadCountsResponse getUnread(Long userId) {
+        UnreadCache cache = unreadByUser.get(userId);
+        if (cache == null || cache.isExpired(cacheTtlMillis)) {
+            cache = loadUnread(userId);
+        }
+
+        Map<Long, Integer> counts = cache.counts().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        long total = counts.values().stream().mapToLong(Integer::longValue).sum();
+        return UnreadCountsResponse.builder()
+                .totalUnread(total)
+                .tickets(counts)
+                .build();
+    }
+
+    /**
+     * Count a new message as unread for its recipients
+     * Inside a transaction the counters change only after commit
+     * @param ticketId ticket ID
+     * @param recipientIds participants other than the author
+     */
+    public void messageAdded(Long ticketId, Collection<Long> recipientIds) {
+        afterCommit(() -> increment(ticketId, recipientIds));
+    }
+
+    /**
+     * Forget cached counts that include a ticket, e.g. after a message was deleted
+     * Inside a transaction the counters are dropped only after commit
+     * @param ticketId ticket ID
+     */
+    public void invalidateTicket(Long ticketId) {
+        afterCommit(() -> unreadByUser.values().removeIf(cache -> cache.counts().containsKey(ticketId)));
+    }
+
+    /**
+     * Participants may have changed - reload counts of everyone involved
+     * @param event ticket snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        invalidateTicket(event.ticketId());
+        if (event.requesterId() != null) {
+            unreadByUser.remove(event.requesterId());
+        }
+        if (event.assigneeId() != null) {
+            unreadByUser.remove(event.assigneeId());
+        }
+    }
+
+    /**
+     * Persist changed markers and drop expired counters
+     */
+    @Scheduled(fixedDelayString = "${chat.read-markers.flush-ms:2000}")
+    public void flush() {
+        unreadByUser.values().removeIf(cache -> cache.isExpired(cacheTtlMillis));
+
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<MarkerKey> keys = new ArrayList<>();
+        List<Marker> values = new ArrayList<>();
+        for (MarkerKey key : dirty) {
+            dirty.remove(key);
+            Marker marker = markers.get(key);
+            if (marker != null) {
+                keys.add(key);
+                values.add(marker);
+            }
+        }
+
+        List<Object[]> args = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            args.add(new Object[]{keys.get(i).userId(), keys.get(i).ticketId(),
+                    values.get(i).messageId(), Timestamp.valueOf(values.get(i).readAt())});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_MARKER_SQL, args);
+        } catch (DataIntegrityViolationException e) {
+            // Typically a marker of a deleted ticket or user; find it instead of retrying the batch forever
+            log.warn("Batch of {} read markers rejected, writing one by one: {}", keys.size(), e.getMessage());
+            flushEach(keys, values, args);
+            return;
+        } catch (Exception e) {
+            log.error("Failed to persist {} read markers, will retry: {}", keys.size(), e.getMessage());
+            dirty.addAll(keys);
+            return;
+        }
+
+        // Persisted markers are reloaded on demand; keep those that moved meanwhile
+        for (int i = 0; i < keys.size(); i++) {
+            markers.remove(keys.get(i), values.get(i));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushEach(List<MarkerKey> keys, List<Marker> values, List<Object[]> args) {
+        for (int i = 0; i < keys.size(); i++) {
+            try {
+                jdbcTemplate.update(UPSERT_MARKER_SQL, args.get(i));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Discarding read marker of user {} on ticket {}: {}",
+                        keys.get(i).userId(), keys.get(i).ticketId(), e.getMessage());
+            } catch (Exception e) {
+                log.error("Failed to persist read markers, will retry: {}", e.getMessage());
+                dirty.addAll(keys.subList(i, keys.size()));
+                return;
+            }
+            markers.remove(keys.get(i), values.get(i));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void increment(Long ticketId, Collection<Long> recipientIds) {
+        for (Long recipientId : recipientIds) {
+            UnreadCache cache = unreadByUser.get(recipientId);
+            if (cache != null) {
+                cache.counts().merge(ticketId, 1, Integer::sum);
+            }
+        }
+    }
+
+    private void refreshUnread(Long userId, Long ticketId, long lastReadMessageId) {
+        UnreadCache cache = unreadByUser.get(userId);
+        if (cache == null) {
+            return;
+        }
+        Integer unread = jdbcTemplate.queryForObject(UNREAD_IN_TICKET_SQL, Integer.class,
+                ticketId, userId, lastReadMessageId);
+        cache.counts().put(ticketId, unread != null ? unread : 0);
+    }
+
+    private UnreadCache loadUnread(Long userId) {
+        // The query reads markers from the table, so pending ones go first
+        flush();
+
+        Map<Long, Integer> counts = new ConcurrentHashMap<>();
+        jdbcTemplate.query(UNREAD_BY_TICKET_SQL, rs -> {
+            counts.put(rs.getLong(1), rs.getInt(2));
+        }, userId, userId, userId, userId);
+
+        UnreadCache cache = new UnreadCache(counts, System.currentTimeMillis());
+        unreadByUser.put(userId, cache);
+        return cache;
+    }
+
+    private long loadMarker(MarkerKey key) {
+        List<Long> rows = jdbcTemplate.queryForList(LOAD_MARKER_SQL, Long.class, key.userId(), key.ticketId());
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    private record MarkerKey(Long userId, Long ticketId) {
+    }
+
+    private record Marker(long messageId, LocalDateTime readAt) {
+    }
+
+    private record UnreadCache(Map<Long, Integer> counts, long loadedAt) {
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.ostafon.supportportal.chat.service;
+
+import com.ostafon.supportportal.chat.dto.response.MessageSearchResponse;
+import com.ostafon.supportportal.chat.dto.response.MessageSearchResultResponse;
+import com.ostafon.supportportal.common.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Substring search over ticket chat messages
+ * Backed by the trigram index on ticket_messages.message; visibility follows
+ * ChatService chat access (staff see all tickets, users only their own).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatSearchService {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    public static final int MAX_QUERY_LENGTH = 200;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int SNIPPET_CONTEXT = 60;
+
+    private static final String SEARCH_SQL =
+            "SELECT m.id, m.ticket_id, t.title, m.author_id, u.first_name, u.last_name, m.message, m.created_at " +
+            "FROM ticket_messages m " +
+            "JOIN tickets t ON t.id = m.ticket_id " +
+            "JOIN users u ON u.id = m.author_id " +
+            "WHERE m.message ILIKE :pattern ESCAPE '\\'";
+
+    private static final String PARTICIPANT_FILTER =
+            " AND (t.requester_id = :userId OR t.assignee_id = :userId)";
+
+    private static final String CURSOR_FILTER = " AND m.id < :before";
+
+    private static final String ORDER_LIMIT = " ORDER BY m.id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Search messages visible to the current user, newest first
+     * @param query text to find (case-insensitive substring)
+     * @param before return messages with ID lower than this (null = newest)
+     * @param limit page size
+     * @return page of matches with highlighted snippets
+     */
+    public MessageSearchResponse search(String query, Long before, int limit) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+
+        String text = query != null ? query.trim() : "";
+        if (text.length() < MIN_QUERY_LENGTH || text.length() > MAX_QUERY_LENGTH) {
+            // Shorter patterns produce no trigrams and would scan the whole table
+            throw new IllegalArgumentException(
+                    "Query must be between " + MIN_QUERY_LENGTH + " and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        StringBuilder sql = new StringBuilder(SEARCH_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pattern", "%" + escapeLike(text) + "%")
+                .addValue("limit", limit + 1);
+
+        if (!SecurityUtils.hasAnyRole("ADMIN", "ENGINEER")) {
+            sql.append(PARTICIPANT_FILTER);
+            params.addValue("userId", currentUserId);
+        }
+        if (before != null) {
+            sql.append(CURSOR_FILTER);
+            params.addValue("before", before);
+        }
+        sql.append(ORDER_LIMIT);
+
+        Pattern highlight = Pattern.compile(Pattern.quote(text), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        List<MessageSearchResultResponse> rows = jdbcTemplate.query(sql.toString(), params,
+                (rs, rowNum) -> mapRow(rs, highlight));
+
+        // One extra row tells whether another page exists
+        boolean hasMore = rows.size() > limit;
+        List<MessageSearchResultResponse> items = hasMore ? rows.subList(0, limit) : rows;
+
+        log.debug("Chat search for {} characters returned {} results", text.length(), items.size());
+
+        return MessageSearchResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getMessageId() : null)
+                .build();
+    }
+
+    private MessageSearchResultResponse mapRow(ResultSet rs, Pattern highlight) throws SQLException {
+        return MessageSearchResultResponse.builder()
+                .messageId(rs.getLong("id"))
+                .ticketId(rs.getLong("ticket_id"))
+                .ticketTitle(rs.getString("title"))
+                .authorId(rs.getLong("author_id"))
+                .authorName(rs.getString("first_name") + " " + rs.getString("last_name"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .snippet(snippet(rs.getString("message"), highlight))
+                .build();
+    }
+
+    /**
+     * Cut an excerpt around the first match and mark every match inside it
+     * Text is HTML-escaped first, so only the inserted mark tags are markup
+     */
+    private String snippet(String message, Pattern highlight) {
+        Matcher first = highlight.matcher(message);
+        int start = 0;
+        int end = Math.min(message.length(), 2 * SNIPPET_CONTEXT);
+        if (first.find()) {
+            start = Math.max(0, first.start() - SNIPPET_CONTEXT);
+            end = Math.min(message.length(), first.end() + SNIPPET_CONTEXT);
+        }
+        String excerpt = message.substring(start, end);
+
+        StringBuilder result = new StringBuilder();
+        if (start > 0) {
+            result.append("…");
+        }
+        Matcher matcher = highlight.matcher(excerpt);
+        int position = 0;
+        while (matcher.find()) {
+            result.append(HtmlUtils.htmlEscape(excerpt.substring(position, matcher.start())))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(matcher.group()))
+                    .append("</mark>");
+            position = matcher.end();
+        }
+        result.append(HtmlUtils.htmlEscape(excerpt.substring(position)));
+        if (end < message.length()) {
+            result.append("…");
+        }
+        return result.toString();
+    }
+
+    private String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,12 +1,16 @@
 package com.ostafon.supportportal.chat.service;
 
+import com.ostafon.supportportal.admin.service.ActivityFeedService;
 import com.ostafon.supportportal.chat.dto.request.MessageRequest;
 import com.ostafon.supportportal.chat.dto.request.UpdateMessageRequest;
 import com.ostafon.supportportal.chat.dto.response.ChatHistoryResponse;
 import com.ostafon.supportportal.chat.dto.response.ChatResponse;
 import com.ostafon.supportportal.chat.dto.response.MessageDeletedResponse;
 import com.ostafon.supportportal.chat.dto.response.MessageResponse;
+import com.ostafon.supportportal.chat.dto.response.ReadReceiptResponse;
+import com.ostafon.supportportal.chat.dto.response.UnreadCountsResponse;
 import com.ostafon.supportportal.chat.repo.TicketMessageRepo;
+import com.ostafon.supportportal.common.enums.ActivityType;
 import com.ostafon.supportportal.common.exception.ResourceNotFoundException;
 import com.ostafon.supportportal.common.utils.SecurityUtils;
 import com.ostafon.supportportal.notifications.service.NotificationService;
@@ -17,12 +21,20 @@ import com.ostafon.supportportal.users.model.UserEntity;
 import com.ostafon.supportportal.users.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,31 +42,41 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChatService {
 
+    public static final int MAX_HISTORY_PAGE = 200;
+
     private final TicketRepo ticketRepo;
     private final TicketMessageRepo messageRepo;
     private final UserRepo userRepo;
     private final SimpMessagingTemplate messagingTemplate;
     private final NotificationService notificationService;
+    private final ActivityFeedService activityFeedService;
+    private final ChatSummaryService chatSummaryService;
+    private final ChatReadService chatReadService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ChatGroupCommitter> groupCommitter;
 
     /**
      * Send message to ticket chat
+     * With group commit enabled the message is stored together with other concurrent
+     * sends; either way it is returned only after it has been committed
      */
-    @Transactional
     public MessageResponse sendMessage(MessageRequest request) {
-        Long currentUserId = SecurityUtils.getCurrentUserId();
-        if (currentUserId == null) {
-            throw new AccessDeniedException("User not authenticated");
-        }
-
-        TicketEntity ticket = ticketRepo.findByIdWithDetails(request.getTicketId())
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", request.getTicketId()));
-
-        if (!hasChatAccess(ticket, currentUserId)) {
-            throw new AccessDeniedException("You don't have permission to write in this ticket chat");
+        ChatGroupCommitter committer = groupCommitter.getIfAvailable();
+        if (committer != null) {
+            ChatGroupCommitter.PendingMessage pending = transactionTemplate.execute(status -> prepareGrouped(request));
+            MessageResponse response = committer.submitAndAwait(pending);
+            if (response != null) {
+                return response;
+            }
+            // Queue is full - store this one on its own
         }
+        return transactionTemplate.execute(status -> sendDirect(request));
+    }
 
-        UserEntity author = userRepo.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserId));
+    private MessageResponse sendDirect(MessageRequest request) {
+        SendContext context = loadSendContext(request);
+        TicketEntity ticket = context.ticket();
+        UserEntity author = context.author();
 
         TicketMessageEntity message = TicketMessageEntity.builder()
                 .ticket(ticket)
@@ -64,24 +86,96 @@ public class ChatService {
 
         message = messageRepo.save(message);
 
-        log.info("Message sent to ticket {} by user {}", request.getTicketId(), currentUserId);
+        // First reply from anyone but the requester counts as first response
+        if (ticket.getFirstResponseAt() == null && !ticket.getRequester().getId().equals(author.getId())) {
+            ticketRepo.markFirstResponse(ticket.getId(), message.getCreatedAt());
+        }
 
         MessageResponse response = toMessageResponse(message);
+        chatSummaryService.messagesAdded(List.of(response));
+
+        log.info("Message sent to ticket {} by user {}", request.getTicketId(), author.getId());
+
         messagingTemplate.convertAndSend("/topic/tickets/" + request.getTicketId(), response);
 
         notifyParticipants(ticket, author.getId(), message.getMessage());
+        chatReadService.messageAdded(ticket.getId(), recipientIds(ticket, author.getId()));
+        activityFeedService.record(ActivityType.CHAT_MESSAGE_SENT, author.getId(),
+                author.getFirstName() + " " + author.getLastName(),
+                "Message in ticket #" + ticket.getId(), null);
         return response;
     }
 
+    private ChatGroupCommitter.PendingMessage prepareGrouped(MessageRequest request) {
+        SendContext context = loadSendContext(request);
+        TicketEntity ticket = context.ticket();
+        UserEntity author = context.author();
+
+        return new ChatGroupCommitter.PendingMessage(
+                ticket.getId(),
+                author.getId(),
+                author.getFirstName() + " " + author.getLastName(),
+                request.getMessage().trim(),
+                LocalDateTime.now(),
+                recipientIds(ticket, author.getId()),
+                ticket.getFirstResponseAt() == null && !ticket.getRequester().getId().equals(author.getId()),
+                new CompletableFuture<>());
+    }
+
+    private List<Long> recipientIds(TicketEntity ticket, Long authorId) {
+        List<Long> recipients = new ArrayList<>(2);
+        if (ticket.getRequester() != null && !ticket.getRequester().getId().equals(authorId)) {
+            recipients.add(ticket.getRequester().getId());
+        }
+        if (ticket.getAssignee() != null && !ticket.getAssignee().getId().equals(authorId)) {
+            recipients.add(ticket.getAssignee().getId());
+        }
+        return recipients;
+    }
+
+    private SendContext loadSendContext(MessageRequest request) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+
+        TicketEntity ticket = ticketRepo.findByIdWithDetails(request.getTicketId())
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", request.getTicketId()));
+
+        if (!hasChatAccess(ticket, currentUserId)) {
+            throw new AccessDeniedException("You don't have permission to write in this ticket chat");
+        }
+
+        UserEntity author = userRepo.findById(currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserId));
+
+        return new SendContext(ticket, author);
+    }
+
+    private record SendContext(TicketEntity ticket, UserEntity author) {
+    }
+
     /**
-     * Get full chat history for ticket
+     * Get page of chat history for ticket
+     * Without cursors returns the latest messages; cursors are message IDs
+     * @param ticketId ticket ID
+     * @param before return messages older than this message
+     * @param after return messages newer than this message
+     * @param limit page size
+     * @return messages in chronological order
      */
     @Transactional(readOnly = true)
-    public ChatHistoryResponse getChatHistory(Long ticketId) {
+    public ChatHistoryResponse getChatHistory(Long ticketId, Long before, Long after, int limit) {
         Long currentUserId = SecurityUtils.getCurrentUserId();
         if (currentUserId == null) {
             throw new AccessDeniedException("User not authenticated");
         }
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either 'before' or 'after', not both");
+        }
+        if (limit < 1 || limit > MAX_HISTORY_PAGE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_PAGE);
+        }
 
         TicketEntity ticket = ticketRepo.findByIdWithDetails(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
@@ -90,14 +184,36 @@ public class ChatService {
             throw new AccessDeniedException("You don't have permission to view this ticket chat");
         }
 
-        List<MessageResponse> messages = messageRepo.findByTicket_IdOrderByCreatedAtAsc(ticketId)
-                .stream()
+        // One extra row tells whether another page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<TicketMessageEntity> rows;
+        if (after != null) {
+            TicketMessageEntity cursor = findCursor(ticketId, after);
+            rows = messageRepo.findAfter(ticketId, cursor.getCreatedAt(), cursor.getId(), page);
+        } else if (before != null) {
+            TicketMessageEntity cursor = findCursor(ticketId, before);
+            rows = messageRepo.findBefore(ticketId, cursor.getCreatedAt(), cursor.getId(), page);
+        } else {
+            rows = messageRepo.findLatest(ticketId, page);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<TicketMessageEntity> pageRows = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        if (after == null) {
+            // Backward queries come newest first
+            Collections.reverse(pageRows);
+        }
+
+        List<MessageResponse> messages = pageRows.stream()
                 .map(this::toMessageResponse)
                 .collect(Collectors.toList());
 
         return ChatHistoryResponse.builder()
                 .ticketId(ticketId)
                 .messages(messages)
+                .hasMore(hasMore)
+                .oldestId(messages.isEmpty() ? null : messages.get(0).getId())
+                .newestId(messages.isEmpty() ? null : messages.get(messages.size() - 1).getId())
                 .build();
     }
 
@@ -106,20 +222,35 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public ChatResponse getChatSummary(Long ticketId) {
-        TicketEntity ticket = ticketRepo.findByIdWithDetails(ticketId)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+        List<ChatResponse> summaries = chatSummaryService.getSummaries(List.of(ticketId), null);
+        if (summaries.isEmpty()) {
+            throw new ResourceNotFoundException("Ticket", "id", ticketId);
+        }
+        return summaries.get(0);
+    }
 
-        Long messagesCount = messageRepo.countByTicket_Id(ticketId);
-        String lastMessage = messageRepo.findTop1ByTicket_IdOrderByCreatedAtDesc(ticketId)
-                .map(TicketMessageEntity::getMessage)
-                .orElse(null);
+    /**
+     * Get chat summaries for several tickets in one query
+     * Tickets the current user cannot access are left out
+     * @param ticketIds ticket IDs
+     * @return summaries in the order of ticketIds
+     */
+    @Transactional(readOnly = true)
+    public List<ChatResponse> getChatSummaries(List<Long> ticketIds) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket ID is required");
+        }
+        if (ticketIds.size() > ChatSummaryService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + ChatSummaryService.MAX_BATCH_SIZE + " tickets per request");
+        }
 
-        return ChatResponse.builder()
-                .ticketId(ticketId)
-                .ticketTitle(ticket.getTitle())
-                .messagesCount(messagesCount)
-                .lastMessage(lastMessage)
-                .build();
+        List<Long> distinctIds = ticketIds.stream().distinct().collect(Collectors.toList());
+        Long participantId = SecurityUtils.hasAnyRole("ADMIN", "ENGINEER") ? null : currentUserId;
+        return chatSummaryService.getSummaries(distinctIds, participantId);
     }
 
     @Transactional
@@ -138,6 +269,7 @@ public class ChatService {
 
         message.setMessage(request.getMessage().trim());
         message = messageRepo.save(message);
+        chatSummaryService.messageEdited(message.getTicket().getId(), message.getId(), message.getMessage());
 
         MessageResponse response = toMessageResponse(message);
         messagingTemplate.convertAndSend("/topic/tickets/" + message.getTicket().getId() + "/message-updated", response);
@@ -160,6 +292,10 @@ public class ChatService {
 
         Long ticketId = message.getTicket().getId();
         messageRepo.delete(message);
+        // Summary recomputes the last message from the table, so the delete must be visible
+        messageRepo.flush();
+        chatSummaryService.messageDeleted(ticketId, messageId);
+        chatReadService.invalidateTicket(ticketId);
 
         MessageDeletedResponse response = MessageDeletedResponse.builder()
                 .messageId(messageId)
@@ -170,6 +306,70 @@ public class ChatService {
         return response;
     }
 
+    /**
+     * Get messages newer than the given ID for reconnect replay
+     * Does not check access: the caller has authorized the subscription already
+     * @param ticketId ticket ID
+     * @param afterId last message ID the client has seen
+     * @param limit maximum number of messages
+     * @return messages, lowest ID first
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getMessagesAfter(Long ticketId, Long afterId, int limit) {
+        return messageRepo.findAfterId(ticketId, afterId, PageRequest.of(0, limit)).stream()
+                .map(this::toMessageResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mark ticket chat as read by the current user
+     * @param ticketId ticket ID
+     * @param messageId last read message (null = latest message)
+     * @return effective read receipt
+     */
+    @Transactional(readOnly = true)
+    public ReadReceiptResponse markRead(Long ticketId, Long messageId) {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+
+        TicketEntity ticket = ticketRepo.findByIdWithDetails(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+
+        if (!hasChatAccess(ticket, currentUserId)) {
+            throw new AccessDeniedException("You don't have permission to view this ticket chat");
+        }
+
+        Long readUpTo;
+        if (messageId != null) {
+            readUpTo = findCursor(ticketId, messageId).getId();
+        } else {
+            readUpTo = chatSummaryService.getSummaries(List.of(ticketId), null).stream()
+                    .map(ChatResponse::getLastMessageId)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (readUpTo == null) {
+                throw new IllegalArgumentException("Ticket " + ticketId + " has no messages");
+            }
+        }
+
+        return chatReadService.markRead(currentUserId, ticketId, readUpTo);
+    }
+
+    /**
+     * Get unread message counts of the current user
+     * @return non-zero counts per ticket
+     */
+    public UnreadCountsResponse getUnreadCounts() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+        return chatReadService.getUnread(currentUserId);
+    }
+
     private boolean hasChatAccess(TicketEntity ticket, Long currentUserId) {
         if (SecurityUtils.hasAnyRole("ADMIN", "ENGINEER")) {
             return true;
@@ -186,6 +386,15 @@ public class ChatService {
         return message.getAuthor() != null && message.getAuthor().getId().equals(currentUserId);
     }
 
+    private TicketMessageEntity findCursor(Long ticketId, Long messageId) {
+        TicketMessageEntity cursor = messageRepo.findById(messageId)
+                .orElseThrow(() -> new ResourceNotFoundException("Message", "id", messageId));
+        if (!cursor.getTicket().getId().equals(ticketId)) {
+            throw new IllegalArgumentException("Message " + messageId + " does not belong to ticket " + ticketId);
+        }
+        return cursor;
+    }
+
     private MessageResponse toMessageResponse(TicketMessageEntity message) {
         return MessageResponse.builder()
                 .id(message.getId())
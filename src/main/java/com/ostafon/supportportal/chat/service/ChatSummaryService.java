@@ -0,0 +1,198 @@
+package com.ostafon.supportportal.chat.service;
+
+import com.ostafon.supportportal.chat.dto.response.ChatResponse;
+import com.ostafon.supportportal.chat.dto.response.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Denormalized chat summary per ticket (ticket_chat_summary)
+ * Message count and last message are updated by the transaction that sends, edits
+ * or deletes a message, so summaries of many tickets are read with one query.
+ * Callers must invoke the update methods inside their write transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSummaryService {
+
+    public static final int PREVIEW_LENGTH = 200;
+    public static final int MAX_BATCH_SIZE = 200;
+
+    // New values win only if they are newer than the stored last message
+    private static final String IS_NEWER = "s.last_message_id IS NULL OR " +
+            "(EXCLUDED.last_message_at, EXCLUDED.last_message_id) > (s.last_message_at, s.last_message_id)";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO ticket_chat_summary AS s (ticket_id, message_count, last_message_id, last_message_at, " +
+            "last_message_preview, last_author_id) " +
+            "VALUES (:ticketId, :count, :messageId, :createdAt, :preview, :authorId) " +
+            "ON CONFLICT (ticket_id) DO UPDATE SET " +
+            "message_count = s.message_count + EXCLUDED.message_count, " +
+            "last_message_id = CASE WHEN " + IS_NEWER + " THEN EXCLUDED.last_message_id ELSE s.last_message_id END, " +
+            "last_message_at = CASE WHEN " + IS_NEWER + " THEN EXCLUDED.last_message_at ELSE s.last_message_at END, " +
+            "last_message_preview = CASE WHEN " + IS_NEWER + " THEN EXCLUDED.last_message_preview ELSE s.last_message_preview END, " +
+            "last_author_id = CASE WHEN " + IS_NEWER + " THEN EXCLUDED.last_author_id ELSE s.last_author_id END";
+
+    private static final String EDIT_SQL =
+            "UPDATE ticket_chat_summary SET last_message_preview = :preview " +
+            "WHERE ticket_id = :ticketId AND last_message_id = :messageId";
+
+    private static final String DECREMENT_SQL =
+            "UPDATE ticket_chat_summary SET message_count = GREATEST(message_count - 1, 0) WHERE ticket_id = :ticketId";
+
+    private static final String RECOMPUTE_LAST_SQL =
+            "UPDATE ticket_chat_summary SET (last_message_id, last_message_at, last_message_preview, last_author_id) = " +
+            "(SELECT m.id, m.created_at, LEFT(m.message, " + PREVIEW_LENGTH + "), m.author_id FROM ticket_messages m " +
+            " WHERE m.ticket_id = :ticketId ORDER BY m.created_at DESC, m.id DESC LIMIT 1) " +
+            "WHERE ticket_id = :ticketId AND last_message_id = :messageId";
+
+    private static final String SELECT_SQL =
+            "SELECT t.id, t.title, s.message_count, s.last_message_id, s.last_message_at, s.last_message_preview, " +
+            "s.last_author_id, u.first_name, u.last_name " +
+            "FROM tickets t " +
+            "LEFT JOIN ticket_chat_summary s ON s.ticket_id = t.id " +
+            "LEFT JOIN users u ON u.id = s.last_author_id " +
+            "WHERE t.id IN (:ticketIds)";
+
+    private static final String PARTICIPANT_FILTER =
+            " AND (t.requester_id = :userId OR t.assignee_id = :userId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Account for newly stored messages
+     * @param messages stored messages, any tickets
+     */
+    public void messagesAdded(List<MessageResponse> messages) {
+        // One row per ticket, in ticket order so concurrent batches lock rows consistently
+        Map<Long, TicketDelta> deltas = new TreeMap<>();
+        for (MessageResponse message : messages) {
+            deltas.computeIfAbsent(message.getTicketId(), id -> new TicketDelta()).add(message);
+        }
+
+        MapSqlParameterSource[] batch = deltas.entrySet().stream()
+                .map(entry -> {
+                    MessageResponse last = entry.getValue().last;
+                    return new MapSqlParameterSource()
+                            .addValue("ticketId", entry.getKey())
+                            .addValue("count", entry.getValue().count)
+                            .addValue("messageId", last.getId())
+                            .addValue("createdAt", Timestamp.valueOf(last.getCreatedAt()))
+                            .addValue("preview", preview(last.getMessage()))
+                            .addValue("authorId", last.getAuthorId());
+                })
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Refresh preview if the edited message is the last one
+     * @param ticketId ticket ID
+     * @param messageId edited message ID
+     * @param text new message text
+     */
+    public void messageEdited(Long ticketId, Long messageId, String text) {
+        jdbcTemplate.update(EDIT_SQL, new MapSqlParameterSource()
+                .addValue("ticketId", ticketId)
+                .addValue("messageId", messageId)
+                .addValue("preview", preview(text)));
+    }
+
+    /**
+     * Account for a deleted message
+     * The delete must already be flushed, the new last message is read from ticket_messages
+     * @param ticketId ticket ID
+     * @param messageId deleted message ID
+     */
+    public void messageDeleted(Long ticketId, Long messageId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ticketId", ticketId)
+                .addValue("messageId", messageId);
+        // Decrement first: it locks the row, so the recompute sees a stable state
+        jdbcTemplate.update(DECREMENT_SQL, params);
+        jdbcTemplate.update(RECOMPUTE_LAST_SQL, params);
+    }
+
+    /**
+     * Get summaries of several tickets in one query
+     * @param ticketIds ticket IDs
+     * @param participantId if set, only tickets where this user is requester or assignee
+     * @return summaries of existing (and visible) tickets in the order of ticketIds
+     */
+    public List<ChatResponse> getSummaries(Collection<Long> ticketIds, Long participantId) {
+        if (ticketIds.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ticketIds", ticketIds);
+        String sql = SELECT_SQL;
+        if (participantId != null) {
+            sql += PARTICIPANT_FILTER;
+            params.addValue("userId", participantId);
+        }
+
+        Map<Long, ChatResponse> byId = new HashMap<>();
+        for (ChatResponse summary : jdbcTemplate.query(sql, params, this::mapRow)) {
+            byId.put(summary.getTicketId(), summary);
+        }
+
+        List<ChatResponse> result = new ArrayList<>(byId.size());
+        for (Long ticketId : ticketIds) {
+            ChatResponse summary = byId.remove(ticketId);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private ChatResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp lastMessageAt = rs.getTimestamp("last_message_at");
+        String firstName = rs.getString("first_name");
+
+        return ChatResponse.builder()
+                .ticketId(rs.getLong("id"))
+                .ticketTitle(rs.getString("title"))
+                .messagesCount(rs.getLong("message_count"))
+                .lastMessageId(rs.getObject("last_message_id", Long.class))
+                .lastMessage(rs.getString("last_message_preview"))
+                .lastMessageAt(lastMessageAt != null ? lastMessageAt.toLocalDateTime() : null)
+                .lastAuthorId(rs.getObject("last_author_id", Long.class))
+                .lastAuthorName(firstName != null ? firstName + " " + rs.getString("last_name") : null)
+                .build();
+    }
+
+    private String preview(String text) {
+        return text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) : text;
+    }
+
+    /**
+     * Messages of one ticket within a batch
+     */
+    private static class TicketDelta {
+
+        private int count;
+        private MessageResponse last;
+
+        void add(MessageResponse message) {
+            count++;
+            if (last == null || message.getCreatedAt().isAfter(last.getCreatedAt())
+                    || (message.getCreatedAt().isEqual(last.getCreatedAt()) && message.getId() > last.getId())) {
+                last = message;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ostafon.supportportal.chat.websoket;
 
 import com.ostafon.supportportal.chat.dto.request.MessageRequest;
+import com.ostafon.supportportal.chat.dto.request.TypingRequest;
 import com.ostafon.supportportal.chat.dto.request.UpdateMessageRequest;
 import com.ostafon.supportportal.chat.dto.response.MessageDeletedResponse;
 import com.ostafon.supportportal.chat.dto.response.MessageResponse;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 /**
@@ -21,6 +23,7 @@ import org.springframework.stereotype.Controller;
 public class ChatWebSocketController {
 
     private final ChatService chatService;
+    private final TicketPresenceTracker presenceTracker;
 
     @MessageMapping("/tickets/{ticketId}/send")
     public MessageResponse sendMessage(@DestinationVariable Long ticketId, @Payload MessageRequest request) {
@@ -45,5 +48,13 @@ public class ChatWebSocketController {
         log.info("WS: delete message {} for ticket {}", messageId, ticketId);
         return chatService.deleteMessage(messageId);
     }
+
+    @MessageMapping("/tickets/{ticketId}/typing")
+    public void typing(
+            @DestinationVariable Long ticketId,
+            @Payload(required = false) TypingRequest request,
+            SimpMessageHeaderAccessor headerAccessor) {
+        presenceTracker.typing(headerAccessor.getSessionId(), ticketId, request == null || request.isTyping());
+    }
 }
 
@@ -0,0 +1,325 @@
+package com.ostafon.supportportal.chat.websoket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays broker messages between application instances through PostgreSQL LISTEN/NOTIFY
+ * Every /topic message sent on this node is also published on the relay channel;
+ * other nodes re-send it to their local simple broker. Frames are coalesced into
+ * one NOTIFY per short window, and batches above the NOTIFY size limit are stored
+ * in cluster_relay_payloads with only their id notified.
+ * Merged presence snapshots are not relayed; nodes exchange their own sessions on
+ * /presence-node and each merges them for its subscribers (see TicketPresenceTracker).
+ */
+@Component
+@ConditionalOnProperty(name = "chat.cluster-relay.enabled", havingValue = "true")
+@Slf4j
+public class ClusterRelay implements ChannelInterceptor {
+
+    /**
+     * Marks messages that came from another node so they are not relayed back
+     */
+    public static final String RELAYED_HEADER = "clusterRelayed";
+
+    private static final String PRESENCE_SUFFIX = "/presence";
+
+    // pg_notify payload limit is 8000 bytes; keep room for the envelope
+    private static final int MAX_NOTIFY_BYTES = 7500;
+
+    private final AbstractSubscribableChannel brokerChannel;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final String channel;
+    private final long coalesceMillis;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<RelayFrame> outbound;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread sender;
+    private Thread listener;
+
+    public ClusterRelay(@Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+                        JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${chat.cluster-relay.channel:stomp_relay}") String channel,
+                        @Value("${chat.cluster-relay.coalesce-ms:10}") long coalesceMillis,
+                        @Value("${chat.cluster-relay.queue-capacity:10000}") int queueCapacity,
+                        @Value("${spring.datasource.url}") String url,
+                        @Value("${spring.datasource.username}") String username,
+                        @Value("${spring.datasource.password}") String password) {
+        // Channel name goes into LISTEN as an identifier, it cannot be a bind parameter
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cluster relay channel name: " + channel);
+        }
+        this.brokerChannel = brokerChannel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.coalesceMillis = coalesceMillis;
+        this.outbound = new ArrayBlockingQueue<>(queueCapacity);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @PostConstruct
+    public void register() {
+        brokerChannel.addInterceptor(this);
+    }
+
+    /**
+     * Start relay threads once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+
+        sender = new Thread(this::sendLoop, "cluster-relay-sender");
+        sender.setDaemon(true);
+        sender.start();
+
+        listener = new Thread(this::listenLoop, "cluster-relay-listener");
+        listener.setDaemon(true);
+        listener.start();
+
+        log.info("Cluster relay started on channel '{}' as node {}", channel, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (sender != null) {
+            sender.interrupt();
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Capture local /topic messages on their way to the broker
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || destination == null || !destination.startsWith("/topic/")
+                || destination.endsWith(PRESENCE_SUFFIX)
+                || message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+
+        String payload;
+        if (message.getPayload() instanceof byte[] bytes) {
+            payload = new String(bytes, StandardCharsets.UTF_8);
+        } else if (message.getPayload() instanceof String text) {
+            payload = text;
+        } else {
+            log.debug("Cluster relay skips non-text payload for {}", destination);
+            return message;
+        }
+
+        MimeType contentType = accessor.getContentType();
+        // Never block the sending thread; the local broker still delivers
+        if (!outbound.offer(new RelayFrame(destination, contentType != null ? contentType.toString() : null, payload))) {
+            dropped.incrementAndGet();
+        }
+        return message;
+    }
+
+    /**
+     * Remove offloaded payloads every node has had time to read
+     */
+    @Scheduled(fixedDelayString = "${chat.cluster-relay.purge-ms:60000}")
+    public void purgeOffloaded() {
+        int removed = jdbcTemplate.update(
+                "DELETE FROM cluster_relay_payloads WHERE created_at < now() - interval '5 minutes'");
+        if (removed > 0) {
+            log.debug("Purged {} offloaded relay payloads", removed);
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("Cluster relay dropped {} frames, outbound queue is full", lost);
+        }
+    }
+
+    private void sendLoop() {
+        List<RelayFrame> batch = new ArrayList<>();
+        while (running) {
+            try {
+                RelayFrame first = outbound.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Let a burst accumulate so it goes out as one NOTIFY
+                if (coalesceMillis > 0) {
+                    Thread.sleep(coalesceMillis);
+                }
+                outbound.drainTo(batch);
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Cluster relay failed to publish {} frames: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<RelayFrame> frames) {
+        List<RelayFrame> chunk = new ArrayList<>();
+        int chunkBytes = 0;
+
+        for (RelayFrame frame : frames) {
+            int frameBytes = frame.sizeEstimate();
+            if (!chunk.isEmpty() && chunkBytes + frameBytes > MAX_NOTIFY_BYTES) {
+                notify(chunk);
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(frame);
+            chunkBytes += frameBytes;
+        }
+        if (!chunk.isEmpty()) {
+            notify(chunk);
+        }
+    }
+
+    private void notify(List<RelayFrame> frames) {
+        String json = objectMapper.writeValueAsString(new RelayEnvelope(nodeId, frames, null));
+
+        if (json.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_BYTES) {
+            Long offloadId = jdbcTemplate.queryForObject(
+                    "INSERT INTO cluster_relay_payloads (payload) VALUES (?) RETURNING id", Long.class, json);
+            json = objectMapper.writeValueAsString(new RelayEnvelope(nodeId, null, offloadId));
+        }
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, json);
+    }
+
+    private void listenLoop() {
+        while (running) {
+            // Dedicated connection outside the pool: LISTEN holds it for the node lifetime
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Cluster relay listening on '{}'", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster relay connection lost, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String json) {
+        try {
+            RelayEnvelope envelope = objectMapper.readValue(json, RelayEnvelope.class);
+            if (nodeId.equals(envelope.node())) {
+                return;
+            }
+
+            if (envelope.offloadId() != null) {
+                String stored = jdbcTemplate.queryForObject(
+                        "SELECT payload FROM cluster_relay_payloads WHERE id = ?", String.class, envelope.offloadId());
+                envelope = objectMapper.readValue(stored, RelayEnvelope.class);
+            }
+
+            for (RelayFrame frame : envelope.frames()) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                accessor.setDestination(frame.destination());
+                if (frame.contentType() != null) {
+                    accessor.setContentType(MimeType.valueOf(frame.contentType()));
+                }
+                accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+
+                brokerChannel.send(MessageBuilder.createMessage(
+                        frame.payload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+            }
+        } catch (Exception e) {
+            log.error("Cluster relay failed to deliver notification: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Single broker message
+     */
+    public record RelayFrame(String destination, String contentType, String payload) {
+
+        int sizeEstimate() {
+            // JSON escaping may grow the payload; a rough margin is enough for chunking
+            return destination.length() + payload.length() + 64;
+        }
+    }
+
+    /**
+     * NOTIFY payload: frames inline, or id of an offloaded envelope
+     */
+    public record RelayEnvelope(String node, List<RelayFrame> frames, Long offloadId) {
+    }
+}
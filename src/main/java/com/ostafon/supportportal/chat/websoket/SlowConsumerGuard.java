@@ -0,0 +1,169 @@
+package com.ostafon.supportportal.chat.websoket;
+
+import com.ostafon.supportportal.common.enums.WebSocketOverflowPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session backlog limit for outbound broker messages
+ * Every message accepted on the client outbound channel counts as pending for its
+ * session until the metered session actually writes a frame to the socket. Once a
+ * session has too many pending frames, new ones are dropped (or the session closed)
+ * before they reach the outbound executor, so one slow client cannot hold pool
+ * threads or queue slots needed by everyone else.
+ */
+@Component
+@Slf4j
+public class SlowConsumerGuard implements ChannelInterceptor {
+
+    private final int maxPending;
+    private final WebSocketOverflowPolicy policy;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong terminatedSessions = new AtomicLong();
+
+    public SlowConsumerGuard(@Value("${chat.websocket.max-pending-per-session:200}") int maxPending,
+                             @Value("${chat.websocket.overflow-policy:DROP}") WebSocketOverflowPolicy policy) {
+        this.maxPending = maxPending;
+        this.policy = policy;
+    }
+
+    /**
+     * Wrap a new transport session so its writes are metered
+     * @param session raw session
+     * @return metered session
+     */
+    public WebSocketSession register(WebSocketSession session) {
+        SessionState state = new SessionState(session);
+        sessions.put(session.getId(), state);
+        return new MeteredSession(session, state);
+    }
+
+    /**
+     * Forget a closed session
+     * @param session session
+     */
+    public void unregister(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        SessionState state = sessions.get(accessor.getSessionId());
+        if (state == null) {
+            return message;
+        }
+
+        if (state.pending.incrementAndGet() <= maxPending) {
+            return message;
+        }
+
+        state.pending.decrementAndGet();
+        droppedFrames.incrementAndGet();
+
+        if (policy == WebSocketOverflowPolicy.TERMINATE && state.terminated.compareAndSet(0, 1)) {
+            terminatedSessions.incrementAndGet();
+            log.warn("Closing slow WebSocket session {}: {} frames pending", accessor.getSessionId(), maxPending);
+            try {
+                state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close slow session {}: {}", accessor.getSessionId(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get frames discarded since start
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Get sessions closed for being too slow since start
+     */
+    public long getTerminatedSessions() {
+        return terminatedSessions.get();
+    }
+
+    /**
+     * Get number of sessions with at least half of the backlog limit pending
+     */
+    public int getSlowSessions() {
+        int slow = 0;
+        for (SessionState state : sessions.values()) {
+            if (state.pending.get() * 2 >= maxPending) {
+                slow++;
+            }
+        }
+        return slow;
+    }
+
+    /**
+     * Get largest per-session backlog
+     */
+    public int getMaxSessionBacklog() {
+        int max = 0;
+        for (SessionState state : sessions.values()) {
+            max = Math.max(max, state.pending.get());
+        }
+        return max;
+    }
+
+    private static class SessionState {
+
+        private final WebSocketSession session;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger terminated = new AtomicInteger();
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * Innermost session decorator: sees frames when they hit the socket
+     */
+    private static class MeteredSession extends WebSocketSessionDecorator {
+
+        private final SessionState state;
+
+        MeteredSession(WebSocketSession delegate, SessionState state) {
+            super(delegate);
+            this.state = state;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                // Heartbeats and receipts were never counted, so never go below zero
+                state.pending.updateAndGet(p -> p > 0 ? p - 1 : 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.ostafon.supportportal.chat.websoket;
+
+import com.ostafon.supportportal.common.security.CustomUserDetails;
+import com.ostafon.supportportal.common.security.CustomUserDetailsService;
+import com.ostafon.supportportal.common.security.JwtService;
+import com.ostafon.supportportal.tickets.repo.TicketRepo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authentication for STOMP over WebSocket
+ * The JWT is validated once on CONNECT and the resulting authentication becomes the
+ * session user; later frames carry it in memory. The token's expiry is kept with it,
+ * and SEND/SUBSCRIBE frames are rejected once it has passed, so a session never
+ * outlives its token and the client has to reconnect with a fresh one. Before a frame is handled the
+ * authentication is put into the SecurityContext, so services relying on
+ * SecurityUtils work the same as for HTTP requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthInterceptor implements ExecutorChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TicketRepo ticketRepo;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor));
+            return message;
+        }
+        if (command == StompCommand.DISCONNECT) {
+            return message;
+        }
+
+        Authentication user = authentication(accessor.getUser());
+        if (user == null) {
+            throw new AccessDeniedException("STOMP session is not authenticated");
+        }
+        if ((command == StompCommand.SEND || command == StompCommand.SUBSCRIBE)
+                && user.getDetails() instanceof SessionToken token && token.isExpired()) {
+            throw new AccessDeniedException("STOMP session token has expired, reconnect with a new token");
+        }
+
+        if (command == StompCommand.SUBSCRIBE) {
+            authorizeSubscribe((CustomUserDetails) user.getPrincipal(), accessor.getDestination());
+        } else if (command == StompCommand.SEND) {
+            // Clients talk to controllers only; topics are written by the server
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith("/app/")) {
+                throw new AccessDeniedException("Sending to " + destination + " is not allowed");
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Authentication user = authentication(SimpMessageHeaderAccessor.getUser(message.getHeaders()));
+        if (user != null) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(user);
+            SecurityContextHolder.setContext(context);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (!StringUtils.hasText(header) || !header.startsWith(BEARER_PREFIX)) {
+            throw new AccessDeniedException("Missing bearer token in STOMP CONNECT");
+        }
+        String jwt = header.substring(BEARER_PREFIX.length());
+
+        try {
+            String username = jwtService.extractUsername(jwt);
+            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+            if (!jwtService.isTokenValid(jwt, userDetails) || !userDetails.isEnabled()) {
+                throw new AccessDeniedException("Invalid token");
+            }
+
+            log.debug("STOMP session {} authenticated as '{}'", accessor.getSessionId(), username);
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new SessionToken(
+                    jwtService.extractClaim(jwt, Claims::getExpiration).toInstant()));
+            return authentication;
+        } catch (JwtException | UsernameNotFoundException e) {
+            log.warn("STOMP CONNECT rejected: {}", e.getMessage());
+            throw new AccessDeniedException("Invalid token");
+        }
+    }
+
+    private void authorizeSubscribe(CustomUserDetails user, String destination) {
+        if (destination == null) {
+            throw new AccessDeniedException("Subscription without destination");
+        }
+
+        boolean staff = "ADMIN".equals(user.getRole()) || "ENGINEER".equals(user.getRole());
+
+        if (destination.startsWith("/topic/admin/")) {
+            if (!"ADMIN".equals(user.getRole())) {
+                throw new AccessDeniedException("Admin topics require ADMIN role");
+            }
+        } else if (destination.startsWith("/topic/notifications/")) {
+            requireOwner(user, destination, "/topic/notifications/");
+        } else if (destination.startsWith("/topic/analytics/jobs/")) {
+            requireOwner(user, destination, "/topic/analytics/jobs/");
+        } else if (destination.startsWith("/topic/tickets/") && !staff) {
+            Long ticketId = idSegment(destination, "/topic/tickets/");
+            if (!isParticipant(ticketId, user.getId())) {
+                throw new AccessDeniedException("No access to ticket " + ticketId);
+            }
+        }
+    }
+
+    private void requireOwner(CustomUserDetails user, String destination, String prefix) {
+        if (!user.getId().equals(idSegment(destination, prefix))) {
+            throw new AccessDeniedException("Cannot subscribe to another user's topic");
+        }
+    }
+
+    private boolean isParticipant(Long ticketId, Long userId) {
+        List<Object[]> rows = ticketRepo.findParticipantIds(ticketId);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        Object[] row = rows.get(0);
+        return userId.equals(row[0]) || userId.equals(row[1]);
+    }
+
+    private Long idSegment(String destination, String prefix) {
+        String rest = destination.substring(prefix.length());
+        int slash = rest.indexOf('/');
+        String id = slash >= 0 ? rest.substring(0, slash) : rest;
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new AccessDeniedException("Invalid destination " + destination);
+        }
+    }
+
+    private Authentication authentication(Principal principal) {
+        return principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails ? authentication : null;
+    }
+
+    /**
+     * Authentication details of a STOMP session
+     * @param expiresAt exp claim of the token presented on CONNECT
+     */
+    private record SessionToken(Instant expiresAt) {
+
+        boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+    }
+}
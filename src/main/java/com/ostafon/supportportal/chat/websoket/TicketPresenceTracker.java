@@ -0,0 +1,370 @@
+package com.ostafon.supportportal.chat.websoket;
+
+import com.ostafon.supportportal.chat.dto.response.PresenceResponse;
+import com.ostafon.supportportal.chat.dto.response.PresenceUserResponse;
+import com.ostafon.supportportal.common.security.CustomUserDetails;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ephemeral ticket chat presence, never persisted
+ * A session views a ticket while it is subscribed to /topic/tickets/{id}; subscribe,
+ * unsubscribe and disconnect events keep the view sets current, and sessions that stop
+ * sending heartbeats are closed by the transport and arrive here as disconnects.
+ * Typing signals are rate-limited per session and expire on their own. Changes only
+ * mark the ticket dirty; snapshots are broadcast to /topic/tickets/{id}/presence at
+ * most once per tick.
+ * With the cluster relay enabled each node also publishes the snapshot of its own
+ * sessions, tagged with its node id, to /topic/tickets/{id}/presence-node. Snapshots
+ * relayed from other nodes are kept per node and merged into the local broadcast;
+ * nodes republish periodically and snapshots that are not refreshed expire, so a
+ * stopped node drops out. The merged /presence frames themselves are never relayed.
+ */
+@Component
+@Slf4j
+public class TicketPresenceTracker implements ChannelInterceptor {
+
+    private static final String TICKET_TOPIC = "/topic/tickets/";
+    private static final String PRESENCE_SUFFIX = "/presence";
+    private static final String NODE_SUFFIX = "/presence-node";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AbstractSubscribableChannel brokerChannel;
+    private final ObjectMapper objectMapper;
+    private final long typingTtlMillis;
+    private final long typingIntervalMillis;
+    private final boolean clustered;
+    private final long nodeRefreshMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile long lastNodeRefresh;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> viewers = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Long>> typing = new ConcurrentHashMap<>(); // ticket -> session -> expires at
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet(); // local change, publish to other nodes too
+    private final Set<Long> remoteDirty = ConcurrentHashMap.newKeySet(); // another node's snapshot changed
+    private final Map<Long, Map<String, RemoteSnapshot>> remote = new ConcurrentHashMap<>(); // ticket -> node
+
+    public TicketPresenceTracker(SimpMessagingTemplate messagingTemplate,
+                                 @Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+                                 ObjectMapper objectMapper,
+                                 @Value("${chat.presence.typing-ttl-ms:5000}") long typingTtlMillis,
+                                 @Value("${chat.presence.typing-interval-ms:1000}") long typingIntervalMillis,
+                                 @Value("${chat.cluster-relay.enabled:false}") boolean clustered,
+                                 @Value("${chat.presence.node-refresh-ms:10000}") long nodeRefreshMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.brokerChannel = brokerChannel;
+        this.objectMapper = objectMapper;
+        this.typingTtlMillis = typingTtlMillis;
+        this.typingIntervalMillis = typingIntervalMillis;
+        this.clustered = clustered;
+        this.nodeRefreshMillis = nodeRefreshMillis;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (clustered) {
+            brokerChannel.addInterceptor(this);
+        }
+    }
+
+    /**
+     * Take node snapshots relayed from other nodes off the broker channel
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!message.getHeaders().containsKey(ClusterRelay.RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(TICKET_TOPIC) || !destination.endsWith(NODE_SUFFIX)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        try {
+            NodePresence snapshot = objectMapper.readValue(payload, NodePresence.class);
+            if (!nodeId.equals(snapshot.node())) {
+                remote.computeIfAbsent(snapshot.ticketId(), id -> new ConcurrentHashMap<>())
+                        .put(snapshot.node(), new RemoteSnapshot(snapshot, System.currentTimeMillis()));
+                remoteDirty.add(snapshot.ticketId());
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring presence snapshot on {}: {}", destination, e.getMessage());
+        }
+        // Internal frame, not meant for clients
+        return null;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long ticketId = ticketId(accessor.getDestination());
+        CustomUserDetails user = userDetails(event.getUser());
+        if (ticketId == null || user == null || accessor.getSessionId() == null
+                || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String sessionId = accessor.getSessionId();
+        SessionState state = sessions.computeIfAbsent(sessionId, id -> new SessionState(user.getId(),
+                user.user().getFirstName() + " " + user.user().getLastName()));
+        state.subscriptions().put(accessor.getSubscriptionId(), ticketId);
+
+        viewers.compute(ticketId, (id, set) -> {
+            Set<String> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(sessionId);
+            return result;
+        });
+        dirty.add(ticketId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        SessionState state = sessions.get(accessor.getSessionId());
+        if (state == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        Long ticketId = state.subscriptions().remove(accessor.getSubscriptionId());
+        if (ticketId != null && !state.subscriptions().containsValue(ticketId)) {
+            leave(accessor.getSessionId(), ticketId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        SessionState state = sessions.remove(event.getSessionId());
+        if (state != null) {
+            Set.copyOf(state.subscriptions().values()).forEach(ticketId -> leave(event.getSessionId(), ticketId));
+        }
+    }
+
+    /**
+     * Apply a typing signal from a session
+     * Ignored unless the session views the ticket; repeated signals within the
+     * interval are dropped so a fast typist costs at most one update per interval
+     * @param sessionId STOMP session ID
+     * @param ticketId ticket ID
+     * @param isTyping false when the user stopped typing
+     */
+    public void typing(String sessionId, Long ticketId, boolean isTyping) {
+        SessionState state = sessions.get(sessionId);
+        if (state == null || !state.subscriptions().containsValue(ticketId)) {
+            return;
+        }
+
+        if (!isTyping) {
+            typing.computeIfPresent(ticketId, (id, typists) -> {
+                if (typists.remove(sessionId) != null) {
+                    dirty.add(ticketId);
+                }
+                return typists.isEmpty() ? null : typists;
+            });
+            state.lastTyping().remove(ticketId);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Long last = state.lastTyping().get(ticketId);
+        if (last != null && now - last < typingIntervalMillis) {
+            return;
+        }
+        state.lastTyping().put(ticketId, now);
+
+        typing.compute(ticketId, (id, typists) -> {
+            Map<String, Long> result = typists != null ? typists : new ConcurrentHashMap<>();
+            if (result.put(sessionId, now + typingTtlMillis) == null) {
+                dirty.add(ticketId);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Get current presence of a ticket
+     * @param ticketId ticket ID
+     * @return viewers and typists, one entry per user
+     */
+    public PresenceResponse getPresence(Long ticketId) {
+        List<PresenceUserResponse> allViewers = users(viewers.getOrDefault(ticketId, Set.of()));
+        List<PresenceUserResponse> allTyping = users(typing.getOrDefault(ticketId, Map.of()).keySet());
+        for (RemoteSnapshot snapshot : remote.getOrDefault(ticketId, Map.of()).values()) {
+            allViewers = merge(allViewers, snapshot.presence().viewers());
+            allTyping = merge(allTyping, snapshot.presence().typing());
+        }
+        return PresenceResponse.builder()
+                .ticketId(ticketId)
+                .viewers(allViewers)
+                .typing(allTyping)
+                .build();
+    }
+
+    /**
+     * Expire typing signals and remote snapshots, broadcast changed tickets
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.broadcast-ms:500}")
+    public void broadcast() {
+        long now = System.currentTimeMillis();
+        for (Long ticketId : typing.keySet()) {
+            typing.computeIfPresent(ticketId, (id, typists) -> {
+                if (typists.values().removeIf(expiresAt -> expiresAt <= now)) {
+                    dirty.add(ticketId);
+                }
+                return typists.isEmpty() ? null : typists;
+            });
+        }
+
+        if (clustered) {
+            expireRemote(now);
+            // Republish so other nodes keep our snapshots alive, and new nodes learn them
+            if (now - lastNodeRefresh >= nodeRefreshMillis) {
+                lastNodeRefresh = now;
+                dirty.addAll(viewers.keySet());
+            }
+        }
+
+        for (Long ticketId : dirty) {
+            dirty.remove(ticketId);
+            remoteDirty.remove(ticketId);
+            if (clustered) {
+                messagingTemplate.convertAndSend(TICKET_TOPIC + ticketId + NODE_SUFFIX, localSnapshot(ticketId));
+            }
+            messagingTemplate.convertAndSend(TICKET_TOPIC + ticketId + PRESENCE_SUFFIX, getPresence(ticketId));
+        }
+        for (Long ticketId : remoteDirty) {
+            remoteDirty.remove(ticketId);
+            messagingTemplate.convertAndSend(TICKET_TOPIC + ticketId + PRESENCE_SUFFIX, getPresence(ticketId));
+        }
+    }
+
+    private void expireRemote(long now) {
+        // Three missed refreshes mean the node is gone
+        long threshold = now - 3 * nodeRefreshMillis;
+        for (Long ticketId : remote.keySet()) {
+            remote.computeIfPresent(ticketId, (id, byNode) -> {
+                if (byNode.values().removeIf(snapshot -> snapshot.receivedAt() < threshold)) {
+                    remoteDirty.add(ticketId);
+                }
+                return byNode.isEmpty() ? null : byNode;
+            });
+        }
+    }
+
+    private NodePresence localSnapshot(Long ticketId) {
+        return new NodePresence(nodeId, ticketId,
+                users(viewers.getOrDefault(ticketId, Set.of())),
+                users(typing.getOrDefault(ticketId, Map.of()).keySet()));
+    }
+
+    private List<PresenceUserResponse> merge(List<PresenceUserResponse> local, List<PresenceUserResponse> other) {
+        if (other == null || other.isEmpty()) {
+            return local;
+        }
+        Map<Long, PresenceUserResponse> byUser = new LinkedHashMap<>();
+        local.forEach(user -> byUser.put(user.getUserId(), user));
+        other.forEach(user -> byUser.putIfAbsent(user.getUserId(), user));
+        return new ArrayList<>(byUser.values());
+    }
+
+    private void leave(String sessionId, Long ticketId) {
+        viewers.computeIfPresent(ticketId, (id, set) -> {
+            set.remove(sessionId);
+            return set.isEmpty() ? null : set;
+        });
+        typing.computeIfPresent(ticketId, (id, typists) -> {
+            typists.remove(sessionId);
+            return typists.isEmpty() ? null : typists;
+        });
+        dirty.add(ticketId);
+    }
+
+    private List<PresenceUserResponse> users(Set<String> sessionIds) {
+        // Several tabs of one user show up once
+        Map<Long, PresenceUserResponse> byUser = new LinkedHashMap<>();
+        for (String sessionId : sessionIds) {
+            SessionState state = sessions.get(sessionId);
+            if (state != null) {
+                byUser.putIfAbsent(state.userId(), PresenceUserResponse.builder()
+                        .userId(state.userId())
+                        .userName(state.userName())
+                        .build());
+            }
+        }
+        return new ArrayList<>(byUser.values());
+    }
+
+    private Long ticketId(String destination) {
+        if (destination == null || !destination.startsWith(TICKET_TOPIC)) {
+            return null;
+        }
+        String rest = destination.substring(TICKET_TOPIC.length());
+        if (rest.indexOf('/') >= 0) {
+            return null;
+        }
+        try {
+            return Long.parseLong(rest);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private CustomUserDetails userDetails(Principal principal) {
+        return principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails details ? details : null;
+    }
+
+    /**
+     * @param subscriptions subscription ID -> ticket ID
+     * @param lastTyping ticket ID -> time of the last accepted typing signal
+     */
+    private record SessionState(Long userId,
+                                String userName,
+                                Map<String, Long> subscriptions,
+                                Map<Long, Long> lastTyping) {
+
+        SessionState(Long userId, String userName) {
+            this(userId, userName, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Presence of one node's sessions, exchanged between nodes
+     */
+    public record NodePresence(String node,
+                               Long ticketId,
+                               List<PresenceUserResponse> viewers,
+                               List<PresenceUserResponse> typing) {
+    }
+
+    private record RemoteSnapshot(NodePresence presence, long receivedAt) {
+    }
+}
@@ -0,0 +1,325 @@
+package com.ostafon.supportportal.chat.websoket;
+
+import com.ostafon.supportportal.chat.dto.response.MessageResponse;
+import com.ostafon.supportportal.chat.service.ChatService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reconnect replay for ticket chat topics
+ * The most recent message frames of every active /topic/tickets/{id} are kept in a
+ * bounded ring, captured on the broker channel so relayed frames from other nodes are
+ * included. A client resubscribing with a last-seen-id header gets the frames it
+ * missed sent to its session only: from memory when the ring covers the gap, otherwise
+ * from the database. Edits and deletes update the ring in place.
+ * Gaps above max-db-replay, and replays that cannot run, are not replayed in part: the
+ * session gets a single frame with the replay-truncated header and must reload history.
+ * Frames broadcast while the replay runs may arrive twice; clients dedupe by message id.
+ */
+@Component
+@Slf4j
+public class TicketReplayBuffer implements ChannelInterceptor {
+
+    public static final String LAST_SEEN_HEADER = "last-seen-id";
+    public static final String TRUNCATED_HEADER = "replay-truncated";
+
+    private static final String TICKET_TOPIC = "/topic/tickets/";
+    private static final String UPDATED_SUFFIX = "/message-updated";
+    private static final String DELETED_SUFFIX = "/message-deleted";
+
+    private final AbstractSubscribableChannel brokerChannel;
+    private final MessageChannel clientOutboundChannel;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+
+    private final int capacity;
+    private final int maxDbReplay;
+    private final long idleMillis;
+
+    private final Map<Long, TicketRing> rings = new ConcurrentHashMap<>();
+
+    public TicketReplayBuffer(@Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+                              @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                              SimpMessagingTemplate messagingTemplate,
+                              ChatService chatService,
+                              ObjectMapper objectMapper,
+                              @Qualifier("chatReplayExecutor") TaskExecutor executor,
+                              @Value("${chat.replay.buffer-size:100}") int capacity,
+                              @Value("${chat.replay.max-db-replay:200}") int maxDbReplay,
+                              @Value("${chat.replay.idle-minutes:30}") long idleMinutes) {
+        this.brokerChannel = brokerChannel;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messagingTemplate = messagingTemplate;
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.maxDbReplay = maxDbReplay;
+        this.idleMillis = idleMinutes * 60_000;
+    }
+
+    @PostConstruct
+    public void register() {
+        brokerChannel.addInterceptor(this);
+    }
+
+    /**
+     * Capture ticket chat frames on their way to the broker
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || destination == null || !destination.startsWith(TICKET_TOPIC)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        try {
+            String rest = destination.substring(TICKET_TOPIC.length());
+            if (rest.endsWith(UPDATED_SUFFIX)) {
+                TicketRing ring = rings.get(parseId(rest.substring(0, rest.length() - UPDATED_SUFFIX.length())));
+                if (ring != null) {
+                    ring.replace(new Frame(readLong(payload, "id"), payload, accessor.getContentType()));
+                }
+            } else if (rest.endsWith(DELETED_SUFFIX)) {
+                TicketRing ring = rings.get(parseId(rest.substring(0, rest.length() - DELETED_SUFFIX.length())));
+                if (ring != null) {
+                    ring.remove(readLong(payload, "messageId"));
+                }
+            } else if (rest.indexOf('/') < 0) {
+                long messageId = readLong(payload, "id");
+                rings.computeIfAbsent(parseId(rest), id -> new TicketRing(capacity, messageId - 1))
+                        .add(new Frame(messageId, payload, accessor.getContentType()));
+            }
+        } catch (Exception e) {
+            // Replay is best effort; never block delivery
+            log.debug("Replay buffer skipped frame for {}: {}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    /**
+     * Replay missed frames to a resubscribing session
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        String lastSeen = accessor.getFirstNativeHeader(LAST_SEEN_HEADER);
+        if (lastSeen == null || destination == null || !destination.startsWith(TICKET_TOPIC)) {
+            return;
+        }
+
+        String rest = destination.substring(TICKET_TOPIC.length());
+        if (rest.indexOf('/') >= 0) {
+            return;
+        }
+
+        long ticketId;
+        long lastSeenId;
+        try {
+            ticketId = parseId(rest);
+            lastSeenId = Long.parseLong(lastSeen.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid replay request for {}: {}", destination, lastSeen);
+            return;
+        }
+
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+
+        TicketRing ring = rings.get(ticketId);
+        List<Frame> missed = ring != null ? ring.framesAfter(lastSeenId) : null;
+        if (missed != null) {
+            missed.forEach(frame -> deliver(sessionId, subscriptionId, destination, frame.payload(), frame.contentType()));
+            return;
+        }
+
+        // Gap is older than the ring - read it from the database off the transport thread
+        try {
+            executor.execute(() -> replayFromDatabase(ticketId, lastSeenId, sessionId, subscriptionId, destination));
+        } catch (TaskRejectedException e) {
+            log.warn("Replay for session {} on ticket {} rejected, client must reload history", sessionId, ticketId);
+            signalTruncated(ticketId, lastSeenId, sessionId, subscriptionId, destination);
+        }
+    }
+
+    /**
+     * Drop rings of tickets without recent traffic
+     */
+    @Scheduled(fixedDelayString = "${chat.replay.cleanup-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        rings.values().removeIf(ring -> ring.lastActivity() < threshold);
+    }
+
+    private void replayFromDatabase(long ticketId, long lastSeenId, String sessionId,
+                                    String subscriptionId, String destination) {
+        try {
+            // One extra row tells whether the gap exceeds the replay limit
+            List<MessageResponse> messages = chatService.getMessagesAfter(ticketId, lastSeenId, maxDbReplay + 1);
+            if (messages.size() > maxDbReplay) {
+                log.debug("Gap of ticket {} for session {} exceeds {} messages, client must reload history",
+                        ticketId, sessionId, maxDbReplay);
+                signalTruncated(ticketId, lastSeenId, sessionId, subscriptionId, destination);
+                return;
+            }
+            for (MessageResponse response : messages) {
+                Message<?> converted = messagingTemplate.getMessageConverter().toMessage(response, null);
+                if (converted == null) {
+                    continue;
+                }
+                MimeType contentType = SimpMessageHeaderAccessor.wrap(converted).getContentType();
+                deliver(sessionId, subscriptionId, destination, (byte[]) converted.getPayload(),
+                        contentType != null ? contentType : MimeTypeUtils.APPLICATION_JSON);
+            }
+            log.debug("Replayed {} messages of ticket {} from database to session {}",
+                    messages.size(), ticketId, sessionId);
+        } catch (Exception e) {
+            log.error("Replay of ticket {} for session {} failed: {}", ticketId, sessionId, e.getMessage());
+            signalTruncated(ticketId, lastSeenId, sessionId, subscriptionId, destination);
+        }
+    }
+
+    /**
+     * Tell the session that missed messages were not replayed and history must be reloaded
+     */
+    private void signalTruncated(long ticketId, long lastSeenId, String sessionId,
+                                 String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setNativeHeader(TRUNCATED_HEADER, "true");
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("replayTruncated", true);
+        payload.put("ticketId", ticketId);
+        payload.put("lastSeenId", lastSeenId);
+        try {
+            clientOutboundChannel.send(MessageBuilder.createMessage(
+                    objectMapper.writeValueAsBytes(payload), headers.getMessageHeaders()));
+        } catch (Exception e) {
+            log.warn("Failed to signal truncated replay of ticket {} to session {}: {}",
+                    ticketId, sessionId, e.getMessage());
+        }
+    }
+
+    private void deliver(String sessionId, String subscriptionId, String destination,
+                         byte[] payload, MimeType contentType) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination);
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        clientOutboundChannel.send(MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    private long readLong(byte[] payload, String field) {
+        JsonNode node = objectMapper.readTree(payload).get(field);
+        if (node == null || !node.isNumber()) {
+            throw new IllegalArgumentException("Frame without numeric '" + field + "'");
+        }
+        return node.longValue();
+    }
+
+    private long parseId(String segment) {
+        return Long.parseLong(segment);
+    }
+
+    private record Frame(long id, byte[] payload, MimeType contentType) {
+    }
+
+    /**
+     * Recent frames of one ticket
+     * floorId: every message with a higher id that reached this node is in the ring
+     */
+    private static final class TicketRing {
+
+        private final int capacity;
+        private final List<Frame> frames;
+        private long floorId;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        TicketRing(int capacity, long floorId) {
+            this.capacity = capacity;
+            this.frames = new ArrayList<>(capacity);
+            this.floorId = floorId;
+        }
+
+        synchronized void add(Frame frame) {
+            if (frames.size() == capacity) {
+                floorId = Math.max(floorId, frames.remove(0).id());
+            }
+            frames.add(frame);
+            lastActivity = System.currentTimeMillis();
+        }
+
+        synchronized void replace(Frame frame) {
+            for (int i = 0; i < frames.size(); i++) {
+                if (frames.get(i).id() == frame.id()) {
+                    frames.set(i, frame);
+                    return;
+                }
+            }
+        }
+
+        synchronized void remove(long messageId) {
+            frames.removeIf(frame -> frame.id() == messageId);
+        }
+
+        /**
+         * @return frames with a higher id, or null if the ring does not reach back that far
+         */
+        synchronized List<Frame> framesAfter(long lastSeenId) {
+            if (lastSeenId < floorId) {
+                return null;
+            }
+            List<Frame> result = new ArrayList<>();
+            for (Frame frame : frames) {
+                if (frame.id() > lastSeenId) {
+                    result.add(frame);
+                }
+            }
+            return result;
+        }
+
+        long lastActivity() {
+            return lastActivity;
+        }
+    }
+}
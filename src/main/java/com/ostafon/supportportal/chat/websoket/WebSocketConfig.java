@@ -1,18 +1,64 @@
 package com.ostafon.supportportal.chat.websoket;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
 /**
  * WebSocket configuration for chat
+ * Channel pools, send limits and heartbeats are configurable under chat.websocket
+ * The HTTP handshake is public; clients authenticate with a bearer token on STOMP CONNECT
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final StompAuthInterceptor stompAuthInterceptor;
+    private final ThreadPoolTaskScheduler heartbeatScheduler;
+
+    @Value("${chat.websocket.inbound-pool-size:8}")
+    private int inboundPoolSize;
+
+    @Value("${chat.websocket.inbound-queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.websocket.outbound-pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${chat.websocket.outbound-queue-capacity:2000}")
+    private int outboundQueueCapacity;
+
+    @Value("${chat.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${chat.websocket.send-buffer-size-kb:256}")
+    private int sendBufferSizeKb;
+
+    @Value("${chat.websocket.message-size-kb:64}")
+    private int messageSizeKb;
+
+    @Value("${chat.websocket.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    public WebSocketConfig(SlowConsumerGuard slowConsumerGuard,
+                           StompAuthInterceptor stompAuthInterceptor,
+                           @Qualifier("chatHeartbeatScheduler") ThreadPoolTaskScheduler heartbeatScheduler) {
+        this.slowConsumerGuard = slowConsumerGuard;
+        this.stompAuthInterceptor = stompAuthInterceptor;
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -23,7 +69,47 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+
+        registry.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs})
+                .setTaskScheduler(heartbeatScheduler);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+        registration.interceptors(stompAuthInterceptor);
     }
-}
 
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        registration.interceptors(slowConsumerGuard);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Spring still closes a session that blocks longer or buffers more than this
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeKb * 1024)
+                .setMessageSizeLimit(messageSizeKb * 1024)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                        super.afterConnectionEstablished(slowConsumerGuard.register(session));
+                    }
+
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        slowConsumerGuard.unregister(session);
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
+}
@@ -0,0 +1,10 @@
+package com.ostafon.supportportal.common.enums;
+
+public enum ActivityType {
+    USER_REGISTERED,
+    TICKET_CREATED,
+    TICKET_ASSIGNED,
+    TICKET_STATUS_CHANGED,
+    TICKET_DELETED,
+    CHAT_MESSAGE_SENT
+}
@@ -0,0 +1,5 @@
+package com.ostafon.supportportal.common.enums;
+
+public enum HealthStatus {
+    UP, WARN, DOWN
+}
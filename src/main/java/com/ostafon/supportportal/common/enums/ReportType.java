@@ -0,0 +1,5 @@
+package com.ostafon.supportportal.common.enums;
+
+public enum ReportType {
+    TICKETS, ENGINEERS, USERS, TRENDS, COMPARE, COHORTS
+}
@@ -0,0 +1,9 @@
+package com.ostafon.supportportal.common.enums;
+
+/**
+ * What to do with a WebSocket session whose send backlog is full
+ */
+public enum WebSocketOverflowPolicy {
+    DROP,       // discard new frames until the client catches up
+    TERMINATE   // close the session, client reconnects and reloads state
+}
@@ -66,7 +66,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         return path.startsWith("/auth/")
                 || path.startsWith("/swagger-ui/")
                 || path.startsWith("/v3/api-docs/")
-                || path.equals("/swagger-ui.html");
+                || path.equals("/swagger-ui.html")
+                || path.equals("/health")
+                || path.equals("/ws") || path.startsWith("/ws/");
     }
 
     private String extractJwtFromRequest(HttpServletRequest request) {
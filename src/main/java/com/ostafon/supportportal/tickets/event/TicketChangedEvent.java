@@ -0,0 +1,48 @@
+package com.ostafon.supportportal.tickets.event;
+
+import com.ostafon.supportportal.common.enums.TicketPriority;
+import com.ostafon.supportportal.common.enums.TicketStatus;
+import com.ostafon.supportportal.tickets.model.TicketEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of ticket facts after any change, published by TicketService
+ * Consumers upsert by ticketId; deleted is true when the ticket was removed
+ */
+public record TicketChangedEvent(
+        Long ticketId,
+        TicketStatus status,
+        TicketPriority priority,
+        Long requesterId,
+        Long assigneeId,
+        Long groupId,
+        LocalDateTime createdAt,
+        LocalDateTime closedAt,
+        LocalDateTime dueAt,
+        boolean deleted
+) {
+
+    public static TicketChangedEvent of(TicketEntity ticket) {
+        return snapshot(ticket, false);
+    }
+
+    public static TicketChangedEvent deleted(TicketEntity ticket) {
+        return snapshot(ticket, true);
+    }
+
+    private static TicketChangedEvent snapshot(TicketEntity ticket, boolean deleted) {
+        return new TicketChangedEvent(
+                ticket.getId(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getRequester() != null ? ticket.getRequester().getId() : null,
+                ticket.getAssignee() != null ? ticket.getAssignee().getId() : null,
+                ticket.getGroup() != null ? ticket.getGroup().getId() : null,
+                ticket.getCreatedAt(),
+                ticket.getClosedAt(),
+                ticket.getDueAt(),
+                deleted
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.ostafon.supportportal.tickets.event;
+
+import com.ostafon.supportportal.common.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TicketService inside the transaction that changes ticket status
+ * oldStatus is null for a newly created ticket, newStatus is null for a deleted one.
+ * closedAt is the ticket's closedAt after the change; closeStamped tells
+ * whether this transition is the one that set it.
+ */
+public record TicketStatusChangedEvent(
+        Long ticketId,
+        TicketStatus oldStatus,
+        TicketStatus newStatus,
+        LocalDateTime occurredAt,
+        LocalDateTime createdAt,
+        LocalDateTime closedAt,
+        boolean closeStamped
+) {
+
+    public static boolean isOpen(TicketStatus status) {
+        return status == TicketStatus.NEW || status == TicketStatus.IN_PROGRESS;
+    }
+
+    public static boolean isResolved(TicketStatus status) {
+        return status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED;
+    }
+
+    /**
+     * Change of the open-ticket backlog caused by this transition
+     * @return +1, -1 or 0
+     */
+    public int openDelta() {
+        return (isOpen(newStatus) ? 1 : 0) - (isOpen(oldStatus) ? 1 : 0);
+    }
+}
@@ -58,6 +58,10 @@ public class TicketEntity {
     @Column(name = "closed_at")
     private LocalDateTime closedAt;
 
+    // Written only by TicketRepo.markFirstResponse to avoid lost updates
+    @Column(name = "first_response_at", insertable = false, updatable = false)
+    private LocalDateTime firstResponseAt;
+
     @PrePersist
     void prePersist() {
         LocalDateTime now = LocalDateTime.now();
@@ -5,6 +5,7 @@ import com.ostafon.supportportal.tickets.model.TicketEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -225,5 +226,67 @@ public interface TicketRepo extends JpaRepository<TicketEntity, Long> {
      */
     @Query("SELECT COUNT(t.id) FROM TicketEntity t WHERE t.status NOT IN :statuses AND t.createdAt < :beforeDate")
     long countByStatusNotInAndCreatedAtBefore(@Param("statuses") List<TicketStatus> statuses, @Param("beforeDate") LocalDateTime beforeDate);
-}
 
+    /**
+     * Set first response time if it is not set yet
+     * @param ticketId ticket ID
+     * @param respondedAt time of the first non-requester message
+     * @return number of updated rows (0 if already set)
+     */
+    @Modifying
+    @Query("UPDATE TicketEntity t SET t.firstResponseAt = :respondedAt " +
+           "WHERE t.id = :ticketId AND t.firstResponseAt IS NULL")
+    int markFirstResponse(@Param("ticketId") Long ticketId, @Param("respondedAt") LocalDateTime respondedAt);
+
+    /**
+     * Count created tickets per hour and group
+     * @param from range start (inclusive)
+     * @param to range end (exclusive)
+     * @return rows of [LocalDate day, Integer hour, Long groupId (nullable), Long count]
+     */
+    @Query("SELECT CAST(t.createdAt AS LocalDate), EXTRACT(HOUR FROM t.createdAt), t.group.id, COUNT(t.id) " +
+           "FROM TicketEntity t WHERE t.createdAt >= :from AND t.createdAt < :to " +
+           "GROUP BY CAST(t.createdAt AS LocalDate), EXTRACT(HOUR FROM t.createdAt), t.group.id")
+    List<Object[]> countHourlyByGroup(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Get prioritized queue of a group
+     * Priority is ordered by severity, not by its stored name
+     * @param groupId group ID
+     * @param statuses statuses counted as open
+     * @param pageable page limit
+     * @return tickets, most urgent first
+     */
+    @Query("SELECT t FROM TicketEntity t " +
+           "LEFT JOIN FETCH t.requester " +
+           "LEFT JOIN FETCH t.assignee " +
+           "LEFT JOIN FETCH t.group " +
+           "WHERE t.group.id = :groupId AND t.status IN :statuses " +
+           "ORDER BY CASE t.priority " +
+           "  WHEN com.ostafon.supportportal.common.enums.TicketPriority.CRITICAL THEN 0 " +
+           "  WHEN com.ostafon.supportportal.common.enums.TicketPriority.HIGH THEN 1 " +
+           "  WHEN com.ostafon.supportportal.common.enums.TicketPriority.MEDIUM THEN 2 " +
+           "  ELSE 3 END, " +
+           "t.dueAt ASC NULLS LAST, t.createdAt ASC")
+    List<TicketEntity> findGroupQueue(@Param("groupId") Long groupId,
+                                      @Param("statuses") List<TicketStatus> statuses,
+                                      Pageable pageable);
+
+    /**
+     * Get backlog facts of open tickets that belong to a group
+     * @param statuses statuses counted as open
+     * @return rows of [ticketId, groupId, assigneeId, createdAt, dueAt]
+     */
+    @Query("SELECT t.id, t.group.id, a.id, t.createdAt, t.dueAt FROM TicketEntity t " +
+           "LEFT JOIN t.assignee a " +
+           "WHERE t.group IS NOT NULL AND t.status IN :statuses")
+    List<Object[]> findOpenGroupTicketFacts(@Param("statuses") List<TicketStatus> statuses);
+
+    /**
+     * Get requester and assignee of a ticket without loading it
+     * @param ticketId ticket ID
+     * @return single row of [requesterId, assigneeId], empty if ticket does not exist
+     */
+    @Query("SELECT t.requester.id, a.id FROM TicketEntity t LEFT JOIN t.assignee a WHERE t.id = :ticketId")
+    List<Object[]> findParticipantIds(@Param("ticketId") Long ticketId);
+}
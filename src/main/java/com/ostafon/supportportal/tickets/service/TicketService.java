@@ -1,5 +1,7 @@
 package com.ostafon.supportportal.tickets.service;
 
+import com.ostafon.supportportal.admin.service.ActivityFeedService;
+import com.ostafon.supportportal.common.enums.ActivityType;
 import com.ostafon.supportportal.common.enums.TicketStatus;
 import com.ostafon.supportportal.common.enums.UserRole;
 import com.ostafon.supportportal.common.exception.ResourceNotFoundException;
@@ -8,6 +10,8 @@ import com.ostafon.supportportal.notifications.service.NotificationService;
 import com.ostafon.supportportal.tickets.dto.request.CreateTicketRequest;
 import com.ostafon.supportportal.tickets.dto.request.UpdateTicketRequest;
 import com.ostafon.supportportal.tickets.dto.response.TicketResponse;
+import com.ostafon.supportportal.tickets.event.TicketChangedEvent;
+import com.ostafon.supportportal.tickets.event.TicketStatusChangedEvent;
 import com.ostafon.supportportal.tickets.mapper.TicketMapper;
 import com.ostafon.supportportal.tickets.model.TicketEntity;
 import com.ostafon.supportportal.tickets.repo.TicketRepo;
@@ -17,6 +21,7 @@ import com.ostafon.supportportal.users.repo.EngineerGroupRepo;
 import com.ostafon.supportportal.users.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -38,6 +43,8 @@ public class TicketService {
     private final UserRepo userRepo;
     private final EngineerGroupRepo groupRepo;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityFeedService activityFeedService;
 
     /**
      * Create a new ticket
@@ -94,6 +101,11 @@ public class TicketService {
         ticket = ticketRepo.save(ticket);
         log.info("Ticket created successfully with ID: {}", ticket.getId());
 
+        publishStatusChange(ticket, null, null);
+        eventPublisher.publishEvent(TicketChangedEvent.of(ticket));
+        activityFeedService.record(ActivityType.TICKET_CREATED, requester.getId(), fullName(requester),
+                "Ticket #" + ticket.getId() + " created", ticket.getTitle());
+
         // Notify all engineers about new ticket (in-app)
         notificationService.notifyUsersInApp(
                 userRepo.findByRole(com.ostafon.supportportal.common.enums.UserRole.ENGINEER),
@@ -268,6 +280,7 @@ public class TicketService {
 
             if (request.getStatus() != null) {
                 TicketStatus oldStatus = ticket.getStatus();
+                LocalDateTime oldClosedAt = ticket.getClosedAt();
                 ticket.setStatus(request.getStatus());
 
                 // Set closedAt when status changes to CLOSED or RESOLVED
@@ -295,6 +308,7 @@ public class TicketService {
                 }
 
                 log.info("Ticket {} status changed from {} to {}", ticketId, oldStatus, request.getStatus());
+                publishStatusChange(ticket, oldStatus, oldClosedAt);
             }
 
             if (request.getAssigneeId() != null) {
@@ -319,6 +333,8 @@ public class TicketService {
         ticket = ticketRepo.save(ticket);
         log.info("Ticket {} updated successfully", ticketId);
 
+        eventPublisher.publishEvent(TicketChangedEvent.of(ticket));
+
         return TicketMapper.toResponse(ticket);
     }
 
@@ -370,11 +386,16 @@ public class TicketService {
         if (ticket.getStatus() == TicketStatus.NEW) {
             ticket.setStatus(TicketStatus.IN_PROGRESS);
             log.info("Ticket {} status auto-changed to IN_PROGRESS", ticketId);
+            publishStatusChange(ticket, TicketStatus.NEW, ticket.getClosedAt());
         }
 
         ticket = ticketRepo.save(ticket);
         log.info("Ticket {} assigned successfully to user {}", ticketId, assigneeId);
 
+        eventPublisher.publishEvent(TicketChangedEvent.of(ticket));
+        activityFeedService.record(ActivityType.TICKET_ASSIGNED, assignee.getId(), fullName(assignee),
+                "Ticket #" + ticketId + " assigned", "Assigned by user " + currentUserId);
+
         // TODO: Send notification to requester about ticket assignment
         // This will be implemented in the notification module
 
@@ -418,6 +439,7 @@ public class TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
 
         TicketStatus oldStatus = ticket.getStatus();
+        LocalDateTime oldClosedAt = ticket.getClosedAt();
         ticket.setStatus(newStatus);
 
         // Set closedAt when ticket is closed or resolved
@@ -446,6 +468,11 @@ public class TicketService {
         ticket = ticketRepo.save(ticket);
         log.info("Ticket {} status changed from {} to {}", ticketId, oldStatus, newStatus);
 
+        publishStatusChange(ticket, oldStatus, oldClosedAt);
+        eventPublisher.publishEvent(TicketChangedEvent.of(ticket));
+        activityFeedService.record(ActivityType.TICKET_STATUS_CHANGED, SecurityUtils.getCurrentUserId(), null,
+                "Ticket #" + ticketId + " status changed", oldStatus + " -> " + newStatus);
+
         return TicketMapper.toResponse(ticket);
     }
 
@@ -462,6 +489,13 @@ public class TicketService {
 
         ticketRepo.delete(ticket);
         log.info("Ticket {} deleted successfully", ticketId);
+
+        eventPublisher.publishEvent(new TicketStatusChangedEvent(
+                ticketId, ticket.getStatus(), null, LocalDateTime.now(),
+                ticket.getCreatedAt(), ticket.getClosedAt(), false));
+        eventPublisher.publishEvent(TicketChangedEvent.deleted(ticket));
+        activityFeedService.record(ActivityType.TICKET_DELETED, SecurityUtils.getCurrentUserId(), null,
+                "Ticket #" + ticketId + " deleted", ticket.getTitle());
     }
 
     /**
@@ -481,6 +515,27 @@ public class TicketService {
                 .build();
     }
 
+    /**
+     * Publish status transition for event consumers (backlog history etc.)
+     * @param ticket ticket with new status applied
+     * @param oldStatus previous status, null for new tickets
+     * @param oldClosedAt closedAt before the change, to detect a fresh close
+     */
+    private void publishStatusChange(TicketEntity ticket, TicketStatus oldStatus, LocalDateTime oldClosedAt) {
+        if (oldStatus == ticket.getStatus()) {
+            return;
+        }
+        LocalDateTime occurredAt = oldStatus == null ? ticket.getCreatedAt() : LocalDateTime.now();
+        boolean closeStamped = oldClosedAt == null && ticket.getClosedAt() != null;
+        eventPublisher.publishEvent(new TicketStatusChangedEvent(
+                ticket.getId(), oldStatus, ticket.getStatus(), occurredAt,
+                ticket.getCreatedAt(), ticket.getClosedAt(), closeStamped));
+    }
+
+    private String fullName(UserEntity user) {
+        return user.getFirstName() + " " + user.getLastName();
+    }
+
     /**
      * Ticket statistics DTO
      */
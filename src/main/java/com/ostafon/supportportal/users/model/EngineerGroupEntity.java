@@ -2,6 +2,7 @@ package com.ostafon.supportportal.users.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -29,6 +30,7 @@ public class EngineerGroupEntity {
             joinColumns = @JoinColumn(name = "group_id"),
             inverseJoinColumns = @JoinColumn(name = "user_id")
     )
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<UserEntity> members = new HashSet<>();
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.ostafon.supportportal.users.repo;
 
 import com.ostafon.supportportal.users.model.EngineerGroupEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,5 +28,22 @@ public interface EngineerGroupRepo extends JpaRepository<EngineerGroupEntity, Lo
      * @return true if exists
      */
     boolean existsByName(String name);
-}
 
+    /**
+     * Find group with members in one query
+     * @param id group ID
+     * @return optional group entity with initialized members
+     */
+    @EntityGraph(attributePaths = "members")
+    Optional<EngineerGroupEntity> findWithMembersById(Long id);
+
+    /**
+     * Flat list of groups with their members, one row per membership
+     * Groups without members come back once with null member columns
+     * @return rows of [groupId, name, description, userId, firstName, lastName]
+     */
+    @Query("SELECT g.id, g.name, g.description, u.id, u.firstName, u.lastName " +
+           "FROM EngineerGroupEntity g LEFT JOIN g.members u " +
+           "ORDER BY g.id")
+    List<Object[]> findAllWithMemberNames();
+}
@@ -4,6 +4,7 @@ import com.ostafon.supportportal.common.enums.UserRole;
 import com.ostafon.supportportal.users.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -39,5 +40,10 @@ public interface UserRepo extends JpaRepository<UserEntity, Long> {
 
     List<UserEntity> findByCreatedAtBefore(LocalDateTime date);
 
+    long countByCreatedAtBefore(LocalDateTime date);
+
+    @Query("SELECT u.id FROM UserEntity u WHERE u.createdAt BETWEEN :start AND :end")
+    List<Long> findIdsByCreatedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     List<UserEntity> findByRoleAndIsActive(UserRole role, Boolean isActive);
 }
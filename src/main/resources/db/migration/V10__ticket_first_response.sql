@@ -0,0 +1,9 @@
+-- V10: Materialize first response time on tickets
+
+ALTER TABLE tickets
+    ADD COLUMN IF NOT EXISTS first_response_at TIMESTAMP;
+
+COMMENT ON COLUMN tickets.first_response_at IS 'Time of the first chat message written by someone other than the requester';
+
+-- Backfill from existing chat messages runs in V20, outside the migration
+-- transaction, so each batch commits on its own
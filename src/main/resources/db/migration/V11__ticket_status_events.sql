@@ -0,0 +1,36 @@
+-- V11: Ticket status event log and daily backlog fold
+
+CREATE TABLE ticket_status_events (
+    id bigserial PRIMARY KEY,
+    ticket_id bigint NOT NULL,
+    old_status varchar(50),
+    new_status varchar(50),
+    open_delta integer NOT NULL,
+    occurred_at timestamp NOT NULL
+);
+
+CREATE INDEX idx_ticket_status_events_ticket ON ticket_status_events(ticket_id);
+CREATE INDEX idx_ticket_status_events_occurred ON ticket_status_events(occurred_at);
+
+CREATE TABLE ticket_backlog_daily (
+    stat_date date PRIMARY KEY,
+    open_delta bigint NOT NULL
+);
+
+COMMENT ON TABLE ticket_backlog_daily IS 'Tickets opened minus tickets closed per day; prefix sum gives historical backlog';
+
+-- Backfill: creation of every existing ticket
+INSERT INTO ticket_status_events (ticket_id, old_status, new_status, open_delta, occurred_at)
+SELECT id, NULL, 'NEW', 1, created_at
+FROM tickets;
+
+-- Backfill: closing of resolved/closed tickets (intermediate history is unknown)
+INSERT INTO ticket_status_events (ticket_id, old_status, new_status, open_delta, occurred_at)
+SELECT id, 'NEW', status, -1, COALESCE(closed_at, updated_at)
+FROM tickets
+WHERE status IN ('RESOLVED', 'CLOSED');
+
+INSERT INTO ticket_backlog_daily (stat_date, open_delta)
+SELECT CAST(occurred_at AS date), SUM(open_delta)
+FROM ticket_status_events
+GROUP BY CAST(occurred_at AS date);
@@ -0,0 +1,23 @@
+-- V12: Asynchronous analytics report jobs
+
+CREATE TABLE analytics_report_jobs (
+    id bigserial PRIMARY KEY,
+    owner_id bigint NOT NULL,
+    report_type varchar(50) NOT NULL,
+    period varchar(50),
+    period2 varchar(50),
+    metric varchar(50),
+    months integer,
+    status varchar(50) NOT NULL,
+    result text,
+    error text,
+    created_at timestamp NOT NULL DEFAULT now(),
+    started_at timestamp,
+    finished_at timestamp,
+
+    CONSTRAINT fk_report_job_owner FOREIGN KEY (owner_id)
+        REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_report_jobs_owner ON analytics_report_jobs(owner_id, created_at);
+CREATE INDEX idx_report_jobs_status ON analytics_report_jobs(status);
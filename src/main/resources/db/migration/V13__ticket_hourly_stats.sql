@@ -0,0 +1,25 @@
+-- V13: Hourly ticket rollups keyed by UTC hour
+-- Backfill assumes stored timestamps are UTC (analytics.storage-zone default)
+
+CREATE TABLE ticket_hourly_stats (
+    bucket_start timestamp PRIMARY KEY,
+    created_count bigint NOT NULL DEFAULT 0,
+    resolved_count bigint NOT NULL DEFAULT 0,
+    resolution_hours_sum bigint NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE ticket_hourly_stats IS 'Tickets created/resolved per UTC hour; re-bucketed into any time zone at query time';
+
+INSERT INTO ticket_hourly_stats (bucket_start, created_count, resolved_count, resolution_hours_sum)
+SELECT bucket_start, SUM(created_count), SUM(resolved_count), SUM(resolution_hours_sum)
+FROM (
+    SELECT date_trunc('hour', created_at) AS bucket_start,
+           1 AS created_count, 0 AS resolved_count, 0 AS resolution_hours_sum
+    FROM tickets
+    UNION ALL
+    SELECT date_trunc('hour', closed_at),
+           0, 1, FLOOR(EXTRACT(EPOCH FROM (closed_at - created_at)) / 3600)::bigint
+    FROM tickets
+    WHERE closed_at IS NOT NULL
+) t
+GROUP BY bucket_start;
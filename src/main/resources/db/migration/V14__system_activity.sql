@@ -0,0 +1,13 @@
+-- V14: System activity feed (ids are assigned by the application feed)
+
+CREATE TABLE system_activity (
+    id bigint PRIMARY KEY,
+    activity_type varchar(50) NOT NULL,
+    user_id bigint,
+    user_name varchar(255),
+    description text,
+    details text,
+    created_at timestamp NOT NULL
+);
+
+CREATE INDEX idx_system_activity_created_at ON system_activity(created_at);
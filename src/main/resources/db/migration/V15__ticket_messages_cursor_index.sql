@@ -0,0 +1,6 @@
+-- V15: Keyset index for cursor-paginated chat history
+-- Replaces the single-column ticket index, which is a prefix of the new one
+
+CREATE INDEX idx_ticket_messages_ticket_created ON ticket_messages(ticket_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_ticket_messages_ticket;
@@ -0,0 +1,11 @@
+-- V16: Offloaded payloads of the STOMP cluster relay
+-- NOTIFY payloads are limited to 8000 bytes; larger batches are stored here
+-- and only their id is sent. Rows are short-lived and purged by the relay.
+
+CREATE TABLE cluster_relay_payloads (
+    id bigserial PRIMARY KEY,
+    payload text NOT NULL,
+    created_at timestamp NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_cluster_relay_payloads_created_at ON cluster_relay_payloads(created_at);
@@ -0,0 +1,24 @@
+-- V17: Denormalized chat summary per ticket
+-- Maintained in the same transaction as message send/edit/delete, so ticket
+-- cards read count and last message from one row instead of scanning the chat.
+
+CREATE TABLE ticket_chat_summary (
+    ticket_id bigint PRIMARY KEY,
+    message_count int NOT NULL DEFAULT 0,
+    last_message_id bigint,
+    last_message_at timestamp,
+    last_message_preview varchar(200),
+    last_author_id bigint,
+
+    CONSTRAINT fk_tcs_ticket FOREIGN KEY (ticket_id)
+        REFERENCES tickets(id) ON DELETE CASCADE
+);
+
+INSERT INTO ticket_chat_summary (ticket_id, message_count, last_message_id, last_message_at,
+                                 last_message_preview, last_author_id)
+SELECT DISTINCT ON (m.ticket_id)
+       m.ticket_id, c.message_count, m.id, m.created_at, LEFT(m.message, 200), m.author_id
+FROM ticket_messages m
+JOIN (SELECT ticket_id, COUNT(*) AS message_count FROM ticket_messages GROUP BY ticket_id) c
+    ON c.ticket_id = m.ticket_id
+ORDER BY m.ticket_id, m.created_at DESC, m.id DESC;
@@ -0,0 +1,17 @@
+-- V18: Last-read chat position per participant
+-- Written behind by the application; the marker only ever moves forward.
+
+CREATE TABLE ticket_read_markers (
+    user_id bigint NOT NULL,
+    ticket_id bigint NOT NULL,
+    last_read_message_id bigint NOT NULL,
+    read_at timestamp NOT NULL,
+
+    PRIMARY KEY (user_id, ticket_id),
+    CONSTRAINT fk_trm_user FOREIGN KEY (user_id)
+        REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_trm_ticket FOREIGN KEY (ticket_id)
+        REFERENCES tickets(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_ticket_read_markers_ticket ON ticket_read_markers(ticket_id);
@@ -0,0 +1,7 @@
+-- V19: Substring search over chat messages
+-- Trigrams rather than tsvector: users search for pasted error strings, which
+-- full-text parsing would split into words and stem.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_ticket_messages_message_trgm ON ticket_messages USING gin (message gin_trgm_ops);
@@ -0,0 +1,37 @@
+-- V20: Backfill tickets.first_response_at from existing chat messages
+-- Runs outside a transaction (see .sql.conf): the procedure commits after every
+-- id batch, so row locks are held for one batch only and progress survives a
+-- failure. Already filled tickets are skipped, so re-running is harmless.
+
+CREATE OR REPLACE PROCEDURE backfill_ticket_first_response(batch_size BIGINT)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    max_id BIGINT;
+    from_id BIGINT := 0;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM tickets;
+
+    WHILE from_id < max_id LOOP
+        UPDATE tickets t
+        SET first_response_at = fr.first_at
+        FROM (
+            SELECT m.ticket_id, MIN(m.created_at) AS first_at
+            FROM ticket_messages m
+            JOIN tickets tk ON tk.id = m.ticket_id
+            WHERE m.ticket_id > from_id
+              AND m.ticket_id <= from_id + batch_size
+              AND m.author_id <> tk.requester_id
+            GROUP BY m.ticket_id
+        ) fr
+        WHERE t.id = fr.ticket_id
+          AND t.first_response_at IS NULL;
+
+        COMMIT;
+        from_id := from_id + batch_size;
+    END LOOP;
+END $$;
+
+CALL backfill_ticket_first_response(5000);
+
+DROP PROCEDURE backfill_ticket_first_response(BIGINT);
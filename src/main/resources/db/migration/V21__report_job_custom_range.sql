@@ -0,0 +1,6 @@
+-- V21: Custom date range and time zone for analytics report jobs
+
+ALTER TABLE analytics_report_jobs
+    ADD COLUMN from_date date,
+    ADD COLUMN to_date date,
+    ADD COLUMN tz varchar(64);
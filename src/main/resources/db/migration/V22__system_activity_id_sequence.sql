@@ -0,0 +1,9 @@
+-- V22: Database sequence for system activity ids
+-- Every application instance reserves ids from it in blocks, so several nodes
+-- can write the feed without colliding on the primary key.
+
+CREATE SEQUENCE system_activity_id_seq OWNED BY system_activity.id;
+
+SELECT setval('system_activity_id_seq', COALESCE((SELECT MAX(id) FROM system_activity), 0) + 1, false);
+
+ALTER TABLE system_activity ALTER COLUMN id SET DEFAULT nextval('system_activity_id_seq');
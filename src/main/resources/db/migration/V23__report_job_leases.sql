@@ -0,0 +1,7 @@
+-- V23: Node ownership of analytics report jobs
+-- The owning node renews heartbeat_at while a job is unfinished; jobs whose lease
+-- expired belong to a stopped node and are failed by the remaining nodes.
+
+ALTER TABLE analytics_report_jobs
+    ADD COLUMN owner_node varchar(64),
+    ADD COLUMN heartbeat_at timestamp;
@@ -0,0 +1,4 @@
+-- V9: Index for period-based analytics queries
+
+-- Covers created_at range scans and lets requester lookups be answered from the index
+CREATE INDEX IF NOT EXISTS idx_tickets_created_requester ON tickets(created_at, requester_id);